@@ -0,0 +1,94 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AtanBatchingService: задержка одного запроса (SampleTime, перцентили p50/p99 в отчете JMH)
+ * при 8 одновременных клиентах против прямого вызова atan(double) и пропускная способность
+ * при {@value #BURST} одновременно ожидающих запросах.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtanBatchingServiceBenchmark {
+    static final int BURST = 10_000;
+
+    @Param({"1", "64", "1024"})
+    public int maxBatchSize;
+
+    @Param({"0", "50"})
+    public long maxWaitMicros;
+
+    private AtanSeries atanSeries;
+    private AtanBatchingService service;
+    private double[] arguments;
+    private CompletableFuture<?>[] futures;
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries(1e-12, 100_000);
+        service = new AtanBatchingService(atanSeries, maxBatchSize, maxWaitMicros);
+        Random random = new Random(42);
+        arguments = new double[BURST];
+        for (int i = 0; i < BURST; i++) {
+            arguments[i] = 20.0 * random.nextDouble() - 10.0;
+        }
+        futures = new CompletableFuture<?>[BURST];
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(8)
+    public double submitAndJoin() {
+        return service.submit(argument()).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(8)
+    public double direct() {
+        return atanSeries.atan(argument());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BURST)
+    public void burst(Blackhole blackhole) {
+        for (int i = 0; i < BURST; i++) {
+            futures[i] = service.submit(arguments[i]);
+        }
+        for (CompletableFuture<?> future : futures) {
+            blackhole.consume(future.join());
+        }
+    }
+
+    private double argument() {
+        return arguments[ThreadLocalRandom.current().nextInt(BURST)];
+    }
+}
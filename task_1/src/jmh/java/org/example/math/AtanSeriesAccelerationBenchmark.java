@@ -0,0 +1,87 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обычное суммирование ряда против ускоренного (epsilon-алгоритм Винна).
+ * Среднее число членов ряда на вызов - счетчик seriesTermsPerCall каждого бенчмарка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtanSeriesAccelerationBenchmark {
+    static final int SIZE = 1024;
+
+    @Param({"1e-6", "1e-12", "1e-15"})
+    public double epsilon;
+
+    @Param({"SERIES", "ACCELERATED"})
+    public AtanSeries.Mode mode;
+
+    private AtanSeries atanSeries;
+    private double[] arguments;
+    private double[] results;
+    private double seriesTermsPerCall;
+
+    /**
+     * Среднее число членов ряда на вызов для аргументов запуска.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Terms {
+        public double seriesTermsPerCall;
+
+        @Setup(Level.Iteration)
+        public void setUp(AtanSeriesAccelerationBenchmark benchmark) {
+            seriesTermsPerCall = benchmark.seriesTermsPerCall;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries(epsilon, 100_000, mode);
+        arguments = AtanSeriesBenchmark.arguments(AtanSeriesBenchmark.Branch.HALF_ANGLE, epsilon, new Random(42));
+        results = new double[SIZE];
+
+        AtanSeries measured = atanSeries.withMetrics();
+        for (double x : arguments) {
+            measured.atan(x);
+        }
+        seriesTermsPerCall = measured.getMetrics().meanTerms();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan(Terms terms, Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] atanBulk(Terms terms) {
+        atanSeries.atan(arguments, results);
+        return results;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время одного вызова arctg по веткам преобразования аргумента в AtanSeries
+ * в сравнении с Math.atan. Запускать с -prof gc, чтобы видеть скорость выделения памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtanSeriesBenchmark {
+    static final int SIZE = 1024;
+
+    /**
+     * Наборы аргументов, попадающих в одну ветку вычисления.
+     */
+    public enum Branch {
+        /** |x| < epsilon: ряд заканчивается на первом члене. */
+        TINY,
+        /** |x| <= 0.5: прямое суммирование ряда. */
+        DIRECT,
+        /** 0.5 < |x| <= 1: преобразование половинного угла. */
+        HALF_ANGLE,
+        /** |x| > 1: переход к 1 / x. */
+        RECIPROCAL,
+        /** NaN, бесконечности и нули. */
+        SPECIAL
+    }
+
+    @Param({"1e-6", "1e-12", "1e-15"})
+    public double epsilon;
+
+    @Param
+    public Branch branch;
+
+    private AtanSeries atanSeries;
+    private AtanSeries measuredAtanSeries;
+    private double[] arguments;
+    private double[] results;
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries(epsilon, 100_000);
+        measuredAtanSeries = atanSeries.withMetrics();
+        arguments = arguments(branch, epsilon, new Random(42));
+        results = new double[SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atanSeries(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atanSeriesWithMetrics(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(measuredAtanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] atanSeriesBulk() {
+        atanSeries.atan(arguments, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAtan(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(Math.atan(x));
+        }
+    }
+
+    static double[] arguments(Branch branch, double epsilon, Random random) {
+        double[] values = new double[SIZE];
+        double[] specials = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0};
+        for (int i = 0; i < SIZE; i++) {
+            double sign = random.nextBoolean() ? 1.0 : -1.0;
+            double u = random.nextDouble();
+            switch (branch) {
+                case TINY -> values[i] = sign * epsilon * u;
+                case DIRECT -> values[i] = sign * 0.5 * u;
+                case HALF_ANGLE -> values[i] = sign * (0.5 + 0.5 * u);
+                case RECIPROCAL -> values[i] = sign * Math.pow(10.0, 6.0 * u) * (1.0 + 1e-9);
+                case SPECIAL -> values[i] = specials[i % specials.length];
+            }
+        }
+        return values;
+    }
+}
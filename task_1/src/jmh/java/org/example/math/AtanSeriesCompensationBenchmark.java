@@ -0,0 +1,97 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обычное суммирование ряда против суммирования с компенсацией округлений.
+ * Среднее число членов ряда на вызов и наибольшее отклонение от StrictMath.atan в ulp -
+ * счетчики seriesTermsPerCall и maxUlp каждого бенчмарка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtanSeriesCompensationBenchmark {
+    static final int SIZE = 1024;
+
+    @Param({"1e-12", "1e-15", "1e-16"})
+    public double epsilon;
+
+    @Param({"SERIES", "COMPENSATED"})
+    public AtanSeries.Mode mode;
+
+    private AtanSeries atanSeries;
+    private double[] arguments;
+    private double[] results;
+    private double seriesTermsPerCall;
+    private double maxUlp;
+
+    /**
+     * Среднее число членов ряда на вызов и наибольшая ошибка в ulp для аргументов запуска.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Accuracy {
+        public double seriesTermsPerCall;
+        public double maxUlp;
+
+        @Setup(Level.Iteration)
+        public void setUp(AtanSeriesCompensationBenchmark benchmark) {
+            seriesTermsPerCall = benchmark.seriesTermsPerCall;
+            maxUlp = benchmark.maxUlp;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries(epsilon, 100_000, mode);
+        Random random = new Random(42);
+        arguments = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arguments[i] = 8.0 * random.nextDouble() - 4.0;
+        }
+        results = new double[SIZE];
+
+        AtanSeries measured = atanSeries.withMetrics();
+        maxUlp = 0.0;
+        for (double x : arguments) {
+            double expected = StrictMath.atan(x);
+            maxUlp = Math.max(maxUlp, Math.abs(measured.atan(x) - expected) / Math.ulp(expected));
+        }
+        seriesTermsPerCall = measured.getMetrics().meanTerms();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan(Accuracy accuracy, Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] atanBulk(Accuracy accuracy) {
+        atanSeries.atan(arguments, results);
+        return results;
+    }
+}
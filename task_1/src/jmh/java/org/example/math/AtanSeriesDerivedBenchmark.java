@@ -0,0 +1,112 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * atan2 и arcsin через AtanSeries: встроенные методы против обертки над atan(double)
+ * и против Math.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtanSeriesDerivedBenchmark {
+    static final int SIZE = 1024;
+
+    private AtanSeries atanSeries;
+    private double[] ys;
+    private double[] xs;
+    private double[] unit;
+    private double[] results;
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries(1e-12, 100_000);
+        Random random = new Random(42);
+        ys = new double[SIZE];
+        xs = new double[SIZE];
+        unit = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ys[i] = 2.0 * random.nextDouble() - 1.0;
+            xs[i] = 2.0 * random.nextDouble() - 1.0;
+            unit[i] = 2.0 * random.nextDouble() - 1.0;
+        }
+        results = new double[SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan2(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(atanSeries.atan2(ys[i], xs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atan2Wrapped(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            double y = ys[i];
+            double x = xs[i];
+            double angle = atanSeries.atan(y / x);
+            if (x < 0.0) {
+                angle += y < 0.0 ? -Math.PI : Math.PI;
+            }
+            blackhole.consume(angle);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] atan2Bulk() {
+        atanSeries.atan2(ys, xs, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAtan2(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.atan2(ys[i], xs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void asin(Blackhole blackhole) {
+        for (double x : unit) {
+            blackhole.consume(atanSeries.asin(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] asinBulk() {
+        atanSeries.asin(unit, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAsin(Blackhole blackhole) {
+        for (double x : unit) {
+            blackhole.consume(Math.asin(x));
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package org.example.math;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Прогон вариантов arctg по миллионам аргументов нескольких классов за один запуск:
+ * наибольшая и средняя ошибка в ulp относительно StrictMath.atan, наибольшая абсолютная
+ * ошибка и время на вызов (скалярный и пакетный) для каждой пары "вариант, класс аргументов".
+ *
+ * Точность считается параллельно на всех ядрах, время - последовательно. Аргументы
+ * строятся из фиксированного seed, поэтому столбцы точности воспроизводятся побитово,
+ * а отчет (JSON, по одной строке на пару, в постоянном порядке) удобно сравнивать diff'ом. С --baseline отчет
+ * сравнивается с прошлым: рост ошибки, появление NaN или бесконечностей, пропавшие пары
+ * и замедление сверх допуска печатаются, и процесс завершается с кодом 1.
+ *
+ * Запуск: ./gradlew atanSweep [-PsweepArgs="--inputs 1000000 --baseline atan-sweep.json"]
+ */
+public final class AtanSweep {
+    private static final long SEED = 42L;
+    private static final int DEFAULT_INPUTS = 1_000_000;
+    private static final int TIMING_INPUTS = 1 << 16;
+    private static final int TIMING_ROUNDS = 5;
+    private static final double DEFAULT_SPEED_TOLERANCE = 0.25;
+    private static final double DEFAULT_SPEED_FLOOR_NANOS = 5.0;
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\": (\"[^\"]*\"|[-+.\\w]+)");
+
+    /** Не дает JIT выбросить замеряемые вычисления. */
+    private static volatile double sink;
+
+    /**
+     * Классы аргументов.
+     */
+    enum Inputs {
+        /** Равномерно на [-4, 4]: все ветви приведения. */
+        UNIFORM,
+        /** Случайные битовые представления конечных double: все порядки. */
+        RANDOM_BITS,
+        /** Субнормальные числа. */
+        SUBNORMAL,
+        /** Нормальные числа с |x| от 2^-1022 до 2^-20. */
+        TINY,
+        /** До 2^20 ulp от ±0.5 - границы прямого ряда и половинного угла. */
+        NEAR_HALF,
+        /** До 2^20 ulp от ±1 - границы перехода к 1 / x. */
+        NEAR_ONE,
+        /** |x| от 2^50 до Double.MAX_VALUE. */
+        HUGE;
+
+        double[] generate(int count) {
+            SplittableRandom random = new SplittableRandom(SEED + ordinal());
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                double magnitude = switch (this) {
+                    case UNIFORM -> 4.0 * random.nextDouble();
+                    case RANDOM_BITS -> randomFinite(random);
+                    case SUBNORMAL -> Double.longBitsToDouble(random.nextLong(1L, 1L << 52));
+                    case TINY -> Math.scalb(1.0 + random.nextDouble(), random.nextInt(-1022, -20));
+                    case NEAR_HALF -> 0.5 + Math.scalb((double) random.nextInt(-(1 << 20), 1 << 20), -54);
+                    case NEAR_ONE -> 1.0 + Math.scalb((double) random.nextInt(-(1 << 20), 1 << 20), -53);
+                    case HUGE -> Math.scalb(1.0 + random.nextDouble(), random.nextInt(50, 1024));
+                };
+                values[i] = random.nextBoolean() ? magnitude : -magnitude;
+            }
+            return values;
+        }
+
+        private static double randomFinite(SplittableRandom random) {
+            while (true) {
+                double value = Math.abs(Double.longBitsToDouble(random.nextLong()));
+                if (Double.isFinite(value)) {
+                    return value;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param name имя варианта в отчете.
+     * @param scalar скалярное вычисление.
+     * @param bulk пакетное вычисление (in, inOffset, out, outOffset, length).
+     */
+    record Calculator(String name, DoubleUnaryOperator scalar, Bulk bulk) {
+    }
+
+    @FunctionalInterface
+    interface Bulk {
+        void atan(double[] in, int inOffset, double[] out, int outOffset, int length);
+    }
+
+    /**
+     * Строка отчета; nonFinite - число результатов NaN или ±бесконечность (arctg конечного
+     * аргумента конечен), они не входят в ошибки в ulp; worstInput - аргумент с наибольшей ошибкой в ulp.
+     */
+    record Result(
+        String calculator,
+        String inputs,
+        int count,
+        int nonFinite,
+        double maxUlp,
+        double meanUlp,
+        double maxAbsError,
+        double worstInput,
+        double nsPerOp,
+        double bulkNsPerOp
+    ) {
+        String toJson() {
+            return String.format(
+                Locale.ROOT,
+                "{\"calculator\": \"%s\", \"inputs\": \"%s\", \"count\": %d, \"nonFinite\": %d,"
+                    + " \"maxUlp\": %.4f, \"meanUlp\": %.6f, \"maxAbsError\": %.3e, \"worstInput\": \"%s\","
+                    + " \"nsPerOp\": %.2f, \"bulkNsPerOp\": %.2f}",
+                calculator, inputs, count, nonFinite, maxUlp, meanUlp, maxAbsError, Double.toHexString(worstInput),
+                nsPerOp, bulkNsPerOp
+            );
+        }
+
+        String key() {
+            return calculator + "/" + inputs;
+        }
+    }
+
+    private AtanSweep() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int inputs = DEFAULT_INPUTS;
+        Path out = Path.of("atan-sweep.json");
+        Path baseline = null;
+        double speedTolerance = DEFAULT_SPEED_TOLERANCE;
+        double speedFloorNanos = DEFAULT_SPEED_FLOOR_NANOS;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--inputs" -> inputs = Integer.parseInt(args[i + 1]);
+                case "--out" -> out = Path.of(args[i + 1]);
+                case "--baseline" -> baseline = Path.of(args[i + 1]);
+                case "--speed-tolerance" -> speedTolerance = Double.parseDouble(args[i + 1]);
+                case "--speed-floor-ns" -> speedFloorNanos = Double.parseDouble(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        long started = System.nanoTime();
+        List<Result> results = sweep(calculators(), inputs);
+        List<String> report = report(results, inputs);
+        Path directory = out.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Files.write(out, report, StandardCharsets.UTF_8);
+        System.out.printf(
+            Locale.ROOT, "%d results, %d inputs per class, %.1f s -> %s%n",
+            results.size(), inputs, (System.nanoTime() - started) / 1e9, out
+        );
+
+        if (baseline != null) {
+            Map<String, Map<String, String>> previous = parse(Files.readAllLines(baseline));
+            added(previous, results).forEach(System.out::println);
+            List<String> regressions = compare(previous, results, speedTolerance, speedFloorNanos);
+            regressions.forEach(System.out::println);
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+    }
+
+    static List<Calculator> calculators() {
+        List<Calculator> calculators = new ArrayList<>();
+        add(calculators, "series-1e-12", new AtanSeries());
+        add(calculators, "series-1e-15", new AtanSeries(1e-15, 100_000));
+        add(calculators, "polynomial-1e-12", new AtanSeries(1e-12, 100_000, AtanSeries.Mode.POLYNOMIAL));
+        add(calculators, "accelerated-1e-12", new AtanSeries(1e-12, 100_000, AtanSeries.Mode.ACCELERATED));
+        add(calculators, "compensated-1e-16", new AtanSeries(1e-16, 100_000, AtanSeries.Mode.COMPENSATED));
+        add(calculators, "table64-1e-12", new AtanSeries(1e-12, 100_000, AtanSeries.Mode.SERIES, 64));
+        InterpolatedAtan interpolated = InterpolatedAtan.shared(1e-9);
+        calculators.add(new Calculator("interpolated-1e-9", interpolated::atan, interpolated::atan));
+        return calculators;
+    }
+
+    private static void add(List<Calculator> calculators, String name, AtanSeries atanSeries) {
+        calculators.add(new Calculator(name, atanSeries::atan, atanSeries::atan));
+    }
+
+    /**
+     * Точность считается параллельно задачами общего пула ForkJoin по всем аргументам,
+     * время - последовательно на начальном отрезке каждого класса: после прогревочного
+     * круга все пары замеряются по кругу несколько раз, и берется лучшее время пары.
+     * Замер во время параллельного счета зависел бы от соседних задач и перекомпиляции JIT.
+     */
+    static List<Result> sweep(List<Calculator> calculators, int count) {
+        Inputs[] classes = Inputs.values();
+        double[][] arguments = new double[classes.length][];
+        double[][] references = new double[classes.length][];
+        for (Inputs inputs : classes) {
+            double[] values = inputs.generate(count);
+            double[] expected = new double[count];
+            ForkJoinPool.commonPool().submit(() -> IntStream.range(0, count).parallel()
+                .forEach(i -> expected[i] = StrictMath.atan(values[i]))).join();
+            arguments[inputs.ordinal()] = values;
+            references[inputs.ordinal()] = expected;
+        }
+
+        List<ForkJoinTask<Accuracy>> tasks = new ArrayList<>();
+        for (Calculator calculator : calculators) {
+            for (Inputs inputs : classes) {
+                tasks.add(ForkJoinPool.commonPool().submit(
+                    () -> accuracy(calculator, arguments[inputs.ordinal()], references[inputs.ordinal()])
+                ));
+            }
+        }
+        List<Accuracy> accuracies = new ArrayList<>();
+        for (ForkJoinTask<Accuracy> task : tasks) {
+            accuracies.add(task.join());
+        }
+
+        int timed = Math.min(count, TIMING_INPUTS);
+        long[] bestScalar = new long[tasks.size()];
+        long[] bestBulk = new long[tasks.size()];
+        Arrays.fill(bestScalar, Long.MAX_VALUE);
+        Arrays.fill(bestBulk, Long.MAX_VALUE);
+        double[] out = new double[timed];
+        for (int round = 0; round <= TIMING_ROUNDS; round++) {
+            int pair = 0;
+            for (Calculator calculator : calculators) {
+                for (Inputs inputs : classes) {
+                    double[] values = arguments[inputs.ordinal()];
+                    long scalar = timeScalar(calculator, values, timed);
+                    long start = System.nanoTime();
+                    calculator.bulk().atan(values, 0, out, 0, timed);
+                    long bulk = System.nanoTime() - start;
+                    if (round > 0) {
+                        bestScalar[pair] = Math.min(bestScalar[pair], scalar);
+                        bestBulk[pair] = Math.min(bestBulk[pair], bulk);
+                    }
+                    pair++;
+                }
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        int pair = 0;
+        for (Calculator calculator : calculators) {
+            for (Inputs inputs : classes) {
+                Accuracy accuracy = accuracies.get(pair);
+                results.add(new Result(
+                    calculator.name(),
+                    inputs.name().toLowerCase(Locale.ROOT),
+                    count,
+                    accuracy.nonFinite(),
+                    accuracy.maxUlp(),
+                    accuracy.meanUlp(),
+                    accuracy.maxAbsError(),
+                    accuracy.worstInput(),
+                    timed == 0 ? 0.0 : (double) bestScalar[pair] / timed,
+                    timed == 0 ? 0.0 : (double) bestBulk[pair] / timed
+                ));
+                pair++;
+            }
+        }
+        results.sort(Comparator.comparing(Result::calculator).thenComparing(Result::inputs));
+        return results;
+    }
+
+    private record Accuracy(int nonFinite, double maxUlp, double meanUlp, double maxAbsError, double worstInput) {
+    }
+
+    private static Accuracy accuracy(Calculator calculator, double[] values, double[] expected) {
+        int nonFinite = 0;
+        double maxUlp = 0.0;
+        double sumUlp = 0.0;
+        double maxAbsError = 0.0;
+        double worstInput = values.length == 0 ? Double.NaN : values[0];
+        for (int i = 0; i < values.length; i++) {
+            double actual = calculator.scalar().applyAsDouble(values[i]);
+            if (!Double.isFinite(actual)) {
+                // Иначе NaN сделал бы NaN и среднюю ошибку, а сравнения с ним всегда ложны.
+                nonFinite++;
+                continue;
+            }
+            double error = Math.abs(actual - expected[i]);
+            double ulps = error / Math.ulp(expected[i]);
+            sumUlp += ulps;
+            if (ulps > maxUlp) {
+                maxUlp = ulps;
+                worstInput = values[i];
+            }
+            maxAbsError = Math.max(maxAbsError, error);
+        }
+        int finite = values.length - nonFinite;
+        return new Accuracy(nonFinite, maxUlp, finite == 0 ? 0.0 : sumUlp / finite, maxAbsError, worstInput);
+    }
+
+    private static long timeScalar(Calculator calculator, double[] values, int length) {
+        double accumulated = 0.0;
+        long start = System.nanoTime();
+        for (int i = 0; i < length; i++) {
+            accumulated += calculator.scalar().applyAsDouble(values[i]);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = accumulated;
+        return elapsed;
+    }
+
+    static List<String> report(List<Result> results, int inputs) {
+        List<String> lines = new ArrayList<>();
+        lines.add("{");
+        lines.add(String.format(Locale.ROOT, "  \"seed\": %d,", SEED));
+        lines.add(String.format(Locale.ROOT, "  \"inputsPerClass\": %d,", inputs));
+        lines.add(String.format(Locale.ROOT, "  \"java\": \"%s\",", System.getProperty("java.version")));
+        lines.add(String.format(Locale.ROOT, "  \"cores\": %d,", Runtime.getRuntime().availableProcessors()));
+        lines.add("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            lines.add("    " + results.get(i).toJson() + (i + 1 < results.size() ? "," : ""));
+        }
+        lines.add("  ]");
+        lines.add("}");
+        return lines;
+    }
+
+    /**
+     * Читает строки результатов отчета, записанного {@link #report}.
+     */
+    static Map<String, Map<String, String>> parse(List<String> lines) {
+        Map<String, Map<String, String>> rows = new LinkedHashMap<>();
+        for (String line : lines) {
+            if (!line.contains("\"calculator\"")) {
+                continue;
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            Matcher matcher = FIELD.matcher(line);
+            while (matcher.find()) {
+                fields.put(matcher.group(1), matcher.group(2).replace("\"", ""));
+            }
+            rows.put(fields.get("calculator") + "/" + fields.get("inputs"), fields);
+        }
+        return rows;
+    }
+
+    /**
+     * @return пары, которых нет в прошлом отчете: сравнивать их не с чем, но о них сообщается.
+     */
+    static List<String> added(Map<String, Map<String, String>> baseline, List<Result> results) {
+        List<String> lines = new ArrayList<>();
+        for (Result result : results) {
+            if (!baseline.containsKey(result.key())) {
+                lines.add("NEW " + result.key() + ": not in baseline");
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Точность сравнивается строго (аргументы и вычисления воспроизводимы), время - с допуском:
+     * регрессия, если новое время больше старого в (1 + speedTolerance) раз и больше чем
+     * на speedFloorNanos - на быстрых вариантах шум замера сравним с самим временем.
+     * Регрессия и любое нечисловое значение точности (NaN, бесконечность), рост числа
+     * нечисловых результатов, а также пара из прошлого отчета, которой нет в новом.
+     */
+    static List<String> compare(
+        Map<String, Map<String, String>> baseline,
+        List<Result> results,
+        double speedTolerance,
+        double speedFloorNanos
+    ) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Result> current = new LinkedHashMap<>();
+        for (Result result : results) {
+            current.put(result.key(), result);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                regressions.add("REGRESSION " + key + ": missing from results");
+            }
+        }
+        for (Result result : results) {
+            Map<String, String> old = baseline.get(result.key());
+            if (old == null) {
+                continue;
+            }
+            // В отчетах, записанных до появления поля nonFinite, его нет: считаем 0.
+            int previousNonFinite = Integer.parseInt(old.getOrDefault("nonFinite", "0"));
+            if (result.nonFinite() > previousNonFinite) {
+                regressions.add(String.format(
+                    Locale.ROOT, "REGRESSION %s nonFinite: %d -> %d",
+                    result.key(), previousNonFinite, result.nonFinite()
+                ));
+            }
+            // Значения в отчете округлены; небольшой запас не дает ложных срабатываний на округлении.
+            check(regressions, result, "maxUlp", old, result.maxUlp(), 1e-4);
+            check(regressions, result, "meanUlp", old, result.meanUlp(), 1e-6);
+            check(regressions, result, "nsPerOp", old, result.nsPerOp(), speedTolerance, speedFloorNanos);
+            check(regressions, result, "bulkNsPerOp", old, result.bulkNsPerOp(), speedTolerance, speedFloorNanos);
+        }
+        return regressions;
+    }
+
+    private static void check(
+        List<String> regressions,
+        Result result,
+        String field,
+        Map<String, String> old,
+        double current,
+        double margin
+    ) {
+        check(regressions, result, field, old, current, 0.0, margin);
+    }
+
+    private static void check(
+        List<String> regressions,
+        Result result,
+        String field,
+        Map<String, String> old,
+        double current,
+        double tolerance,
+        double margin
+    ) {
+        double previous = Double.parseDouble(old.get(field));
+        if (!Double.isFinite(current) || current > previous * (1.0 + tolerance) && current > previous + margin) {
+            regressions.add(String.format(
+                Locale.ROOT, "REGRESSION %s %s: %s -> %s", result.key(), field, old.get(field), current
+            ));
+        }
+    }
+}
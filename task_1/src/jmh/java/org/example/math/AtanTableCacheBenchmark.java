@@ -0,0 +1,78 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Холодный старт: получение самой большой таблицы приведения из файла кэша против построения.
+ * Каждое измерение - один вызов в новой JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class AtanTableCacheBenchmark {
+    static final double EPSILON = 1e-12;
+    static final int SIZE = AtanReductionTable.MAX_SIZE;
+
+    private Path directory;
+    private AtanTableCache cache;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("atan-cache");
+        cache = new AtanTableCache(directory);
+
+        // Файл пишется напрямую, чтобы таблица не оказалась в памяти до измерения.
+        double[] values = new double[SIZE + 1];
+        for (int k = 0; k <= SIZE; k++) {
+            values[k] = StrictMath.atan((double) k / SIZE);
+        }
+        AtanTableFile.write(
+            cache.fileFor(AtanTableFile.REDUCTION, EPSILON, SIZE),
+            new AtanTableFile.Header(
+                AtanTableFile.REDUCTION, 0, EPSILON, SIZE, SIZE + 1, AtanReductionTable.VERSION_HASH
+            ),
+            DoubleBuffer.wrap(values)
+        );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public AtanSeries preloadFromCache() {
+        cache.preloadReductionTable(EPSILON, SIZE);
+        return new AtanSeries(EPSILON, 100_000, AtanSeries.Mode.SERIES, SIZE);
+    }
+
+    @Benchmark
+    public AtanSeries buildWithoutCache() {
+        return new AtanSeries(EPSILON, 100_000, AtanSeries.Mode.SERIES, SIZE);
+    }
+}
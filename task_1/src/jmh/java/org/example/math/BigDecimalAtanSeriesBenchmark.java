@@ -0,0 +1,115 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimalAtanSeries на 100, 1000 и 10000 цифрах: последовательно, на общем пуле ForkJoin
+ * и против почленного суммирования ряда в BigDecimal с тем же приведением аргумента.
+ * Аргументы - случайные числа со всеми digits значащими цифрами (из [0, 0.5], (0.5, 1] и > 1).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BigDecimalAtanSeriesBenchmark {
+    static final int ARGUMENTS = 3;
+
+    @Param({"100", "1000", "10000"})
+    public int digits;
+
+    private BigDecimalAtanSeries series;
+    private BigDecimal[] arguments;
+    private BigDecimal halfPi;
+
+    @Setup
+    public void setUp() {
+        series = new BigDecimalAtanSeries(digits);
+        Random random = new Random(42);
+        arguments = new BigDecimal[ARGUMENTS];
+        for (int i = 0; i < ARGUMENTS; i++) {
+            BigDecimal fraction = new BigDecimal(new BigInteger((int) (digits * 3.32), random), digits);
+            arguments[i] = fraction.multiply(BigDecimal.valueOf(1L << (2 * i))).divide(BigDecimal.valueOf(4));
+        }
+        // pi/2 считается при первом обращении, в измерения это не попадает; тот же pi/2 берет почленный вариант.
+        halfPi = series.atan(BigDecimal.ONE).multiply(BigDecimal.valueOf(2));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARGUMENTS)
+    public void atan(Blackhole blackhole) {
+        for (BigDecimal x : arguments) {
+            blackhole.consume(series.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARGUMENTS)
+    public void parallelAtan(Blackhole blackhole) {
+        for (BigDecimal x : arguments) {
+            blackhole.consume(series.parallelAtan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARGUMENTS)
+    public void termByTerm(Blackhole blackhole) {
+        for (BigDecimal x : arguments) {
+            blackhole.consume(termByTerm(x));
+        }
+    }
+
+    /**
+     * Приведение как в AtanSeries и ряд, каждый член которого - деление с полной точностью.
+     */
+    private BigDecimal termByTerm(BigDecimal x) {
+        MathContext context = series.getMathContext();
+        MathContext working = new MathContext(context.getPrecision() + 10);
+        BigDecimal y = x.abs();
+        boolean reciprocal = y.compareTo(BigDecimal.ONE) > 0;
+        if (reciprocal) {
+            y = BigDecimal.ONE.divide(y, working);
+        }
+        boolean halfAngle = y.compareTo(new BigDecimal("0.5")) > 0;
+        if (halfAngle) {
+            y = y.divide(BigDecimal.ONE.add(BigDecimal.ONE.add(y.multiply(y)).sqrt(working)), working);
+        }
+
+        BigDecimal square = y.multiply(y, working);
+        BigDecimal limit = BigDecimal.ONE.movePointLeft(working.getPrecision());
+        BigDecimal power = y;
+        BigDecimal sum = y;
+        for (int k = 1; power.compareTo(limit) > 0; k++) {
+            power = power.multiply(square, working);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * k + 1), working);
+            sum = k % 2 == 0 ? sum.add(term) : sum.subtract(term);
+        }
+
+        if (halfAngle) {
+            sum = sum.multiply(BigDecimal.valueOf(2));
+        }
+        if (reciprocal) {
+            sum = halfPi.subtract(sum);
+        }
+        return (x.signum() < 0 ? sum.negate() : sum).round(context);
+    }
+}
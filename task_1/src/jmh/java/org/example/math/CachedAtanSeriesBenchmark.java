@@ -0,0 +1,66 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кэширующая обертка на повторяющихся (квантованных) аргументах в сравнении с прямым вызовом.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedAtanSeriesBenchmark {
+    static final int SIZE = 1024;
+
+    /** Число различных аргументов в потоке; при значении больше емкости кэша растет доля промахов. */
+    @Param({"256", "65536"})
+    public int distinctArguments;
+
+    private AtanSeries atanSeries;
+    private CachedAtanSeries cached;
+    private double[] arguments;
+
+    @Setup
+    public void setUp() {
+        atanSeries = new AtanSeries();
+        cached = new CachedAtanSeries(atanSeries, 4096);
+        Random random = new Random(42);
+        arguments = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arguments[i] = (random.nextInt(distinctArguments) - distinctArguments / 2) * 0.001;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cached(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(cached.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void uncached(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение FloatAtanSeries, AtanSeries и AtanSeries.atanInterval
+ * на одних и тех же аргументах при точности, достижимой во float.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloatAtanSeriesBenchmark {
+    static final int SIZE = 1024;
+    static final float EPSILON = 1e-6f;
+
+    private FloatAtanSeries floatAtanSeries;
+    private AtanSeries atanSeries;
+    private float[] floatArguments;
+    private float[] floatResults;
+    private double[] arguments;
+    private double[] results;
+
+    @Setup
+    public void setUp() {
+        floatAtanSeries = new FloatAtanSeries(EPSILON, 10_000);
+        atanSeries = new AtanSeries(EPSILON, 10_000);
+
+        Random random = new Random(42);
+        floatArguments = new float[SIZE];
+        arguments = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            floatArguments[i] = (float) ((random.nextDouble() - 0.5) * Math.pow(10.0, 4.0 * random.nextDouble() - 2.0));
+            arguments[i] = floatArguments[i];
+        }
+        floatResults = new float[SIZE];
+        results = new double[SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void floatAtan(Blackhole blackhole) {
+        for (float x : floatArguments) {
+            blackhole.consume(floatAtanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] floatAtanBulk() {
+        floatAtanSeries.atan(floatArguments, floatResults);
+        return floatResults;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void doubleAtan(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] doubleAtanBulk() {
+        atanSeries.atan(arguments, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atanInterval(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atanInterval(x));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Интерполяция по таблице (в куче и отображенной из файла) против ряда и Math.atan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolatedAtanBenchmark {
+    static final int SIZE = 1024;
+
+    @Param({"1e-7", "1e-12"})
+    public double epsilon;
+
+    private InterpolatedAtan heapTable;
+    private InterpolatedAtan mappedTable;
+    private AtanSeries atanSeries;
+    private Path cacheFile;
+    private double[] arguments;
+
+    @Setup
+    public void setUp() throws IOException {
+        heapTable = InterpolatedAtan.shared(epsilon);
+        cacheFile = Files.createTempFile("atan", ".lut");
+        mappedTable = InterpolatedAtan.mapped(epsilon, cacheFile);
+        atanSeries = new AtanSeries(epsilon, 100_000);
+
+        Random random = new Random(42);
+        arguments = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arguments[i] = (random.nextDouble() - 0.5) * Math.pow(10.0, 4.0 * random.nextDouble() - 2.0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(cacheFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void heapTable(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(heapTable.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mappedTable(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(mappedTable.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void atanSeries(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(atanSeries.atan(x));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathAtan(Blackhole blackhole) {
+        for (double x : arguments) {
+            blackhole.consume(Math.atan(x));
+        }
+    }
+}
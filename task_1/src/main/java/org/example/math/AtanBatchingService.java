@@ -0,0 +1,271 @@
+package org.example.math;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронное вычисление arctg для множества потоков-клиентов с объединением запросов в пакеты.
+ *
+ * Запросы складываются в ограниченную очередь; поток-диспетчер забирает первый запрос,
+ * добирает к нему остальные, пока пакет не заполнится до maxBatchSize или не истечет
+ * maxWaitMicros с момента получения первого, и считает весь пакет пакетным режимом
+ * {@link AtanSeries#atan(double[], int, double[], int, int)}. Если пакетное вычисление
+ * не удалось, запросы пакета считаются по одному, так что ошибка достается только своему запросу.
+ * Если же диспетчер остановился с необработанной ошибкой (например, {@link Error} из вычисления),
+ * сервис закрывается, а текущий пакет и все ожидающие запросы завершаются этой ошибкой.
+ *
+ * Futures завершаются в потоке-диспетчере: зависимые стадии без суффикса Async
+ * выполняются в нем же и задерживают следующие пакеты, поэтому тяжелые продолжения
+ * стоит запускать через *Async-методы.
+ */
+public final class AtanBatchingService implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+
+    /**
+     * Пакетное вычисление: out[i] = arctg(in[i]) для i < count.
+     */
+    @FunctionalInterface
+    interface BatchKernel {
+        void atan(double[] in, double[] out, int count);
+    }
+
+    private final AtanSeries atanSeries;
+    private final BatchKernel kernel;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Request> queue;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+    private volatile long batches;
+    private volatile long completed;
+
+    /**
+     * @param atanSeries калькулятор, которым считаются пакеты.
+     * @param maxBatchSize наибольший размер пакета.
+     * @param maxWaitMicros сколько ждать дополнения пакета после первого запроса, в микросекундах.
+     */
+    public AtanBatchingService(AtanSeries atanSeries, int maxBatchSize, long maxWaitMicros) {
+        this(atanSeries, maxBatchSize, maxWaitMicros, DEFAULT_QUEUE_CAPACITY, runnable -> {
+            Thread thread = new Thread(runnable, "atan-batching-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param atanSeries калькулятор, которым считаются пакеты.
+     * @param maxBatchSize наибольший размер пакета.
+     * @param maxWaitMicros сколько ждать дополнения пакета после первого запроса, в микросекундах.
+     * @param queueCapacity сколько запросов может ждать в очереди; сверх этого запросы отклоняются.
+     * @param threadFactory фабрика потока-диспетчера.
+     */
+    public AtanBatchingService(
+        AtanSeries atanSeries,
+        int maxBatchSize,
+        long maxWaitMicros,
+        int queueCapacity,
+        ThreadFactory threadFactory
+    ) {
+        this(atanSeries, (in, out, count) -> atanSeries.atan(in, 0, out, 0, count),
+            maxBatchSize, maxWaitMicros, queueCapacity, threadFactory);
+    }
+
+    AtanBatchingService(
+        AtanSeries atanSeries,
+        BatchKernel kernel,
+        int maxBatchSize,
+        long maxWaitMicros,
+        int queueCapacity,
+        ThreadFactory threadFactory
+    ) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+        if (maxWaitMicros < 0) {
+            throw new IllegalArgumentException("maxWaitMicros must not be negative");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be greater than 0");
+        }
+        this.atanSeries = Objects.requireNonNull(atanSeries, "atanSeries");
+        this.kernel = kernel;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dispatcher = threadFactory.newThread(this::dispatch);
+        dispatcher.start();
+    }
+
+    /**
+     * @param x аргумент функции arctg(x).
+     * @return future со значением arctg(x); завершается с {@link RejectedExecutionException},
+     *         если сервис закрыт или очередь переполнена.
+     */
+    public CompletableFuture<Double> submit(double x) {
+        if (closed) {
+            return rejected("service is closed");
+        }
+        Request request = new Request(x);
+        if (!queue.offer(request)) {
+            return rejected("queue is full");
+        }
+        // Запрос, добавленный после последней выборки закрывающегося диспетчера, иначе остался бы без ответа.
+        if (closed && queue.remove(request)) {
+            return rejected("service is closed");
+        }
+        return request.future;
+    }
+
+    /**
+     * Перестает принимать запросы, досчитывает уже принятые и дожидается остановки диспетчера.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        boolean interrupted = false;
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public AtanSeries getAtanSeries() {
+        return atanSeries;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return число посчитанных пакетов.
+     */
+    public long batchCount() {
+        return batches;
+    }
+
+    /**
+     * @return число завершенных запросов (успешно или с ошибкой).
+     */
+    public long completedCount() {
+        return completed;
+    }
+
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        try {
+            dispatchBatches(batch);
+        } catch (Throwable e) {
+            closed = true;
+            for (Request request : batch) {
+                request.future.completeExceptionally(e);
+            }
+            // submit, увидевший closed после добавления, сам удаляет запрос; остальные забираются здесь.
+            for (Request request = queue.poll(); request != null; request = queue.poll()) {
+                completed++;
+                request.future.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    private void dispatchBatches(List<Request> batch) {
+        double[] in = new double[maxBatchSize];
+        double[] out = new double[maxBatchSize];
+
+        while (true) {
+            // После закрытия прерывание уже могло быть поглощено ожиданием, поэтому без блокировки.
+            Request first = closed ? queue.poll() : poll(Long.MAX_VALUE);
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (batch.size() < maxBatchSize) {
+                if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                Request next = remaining > 0 && !closed ? poll(remaining) : null;
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+
+            process(batch, in, out);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Ожидание прерывается при закрытии сервиса; тогда возвращается null.
+     */
+    private Request poll(long nanos) {
+        try {
+            return queue.poll(nanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    private void process(List<Request> batch, double[] in, double[] out) {
+        int count = batch.size();
+        for (int i = 0; i < count; i++) {
+            in[i] = batch.get(i).x;
+        }
+        // Счетчики обновляются до завершения futures: после join() они уже учитывают запрос.
+        batches++;
+        completed += count;
+
+        try {
+            kernel.atan(in, out, count);
+            for (int i = 0; i < count; i++) {
+                batch.get(i).future.complete(out[i]);
+            }
+        } catch (RuntimeException e) {
+            for (Request request : batch) {
+                completeSeparately(request);
+            }
+        }
+    }
+
+    private void completeSeparately(Request request) {
+        try {
+            request.future.complete(atanSeries.atan(request.x));
+        } catch (RuntimeException e) {
+            request.future.completeExceptionally(e);
+        }
+    }
+
+    private static CompletableFuture<Double> rejected(String reason) {
+        return CompletableFuture.failedFuture(new RejectedExecutionException(reason));
+    }
+
+    private static final class Request {
+        final double x;
+        final CompletableFuture<Double> future = new CompletableFuture<>();
+
+        Request(double x) {
+            this.x = x;
+        }
+    }
+}
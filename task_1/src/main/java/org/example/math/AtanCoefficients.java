@@ -0,0 +1,90 @@
+package org.example.math;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Предвычисленные отношения соседних членов ряда arctg: ratios[n] = -(2n + 1) / (2n + 3),
+ * так что член n + 1 равен члену n, умноженному на x^2 * ratios[n].
+ *
+ * Длина массива - число членов, которых в худшем случае (|x| = 0.5) хватает, чтобы
+ * очередной член стал меньше epsilon, но не больше maxTerms - 1.
+ * Наборы коэффициентов разделяются между калькуляторами с одинаковыми (epsilon, maxTerms)
+ * и хранятся в ограниченном LRU-кэше.
+ */
+final class AtanCoefficients {
+    static final int MAX_CACHED = 64;
+
+    private static final double WORST_CASE_ARGUMENT = 0.5;
+
+    private static final Map<Key, AtanCoefficients> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AtanCoefficients> eldest) {
+                return size() > MAX_CACHED;
+            }
+        }
+    );
+
+    private final double[] ratios;
+    private final boolean convergesInWorstCase;
+
+    private AtanCoefficients(double[] ratios, boolean convergesInWorstCase) {
+        this.ratios = ratios;
+        this.convergesInWorstCase = convergesInWorstCase;
+    }
+
+    static AtanCoefficients shared(double epsilon, int maxTerms) {
+        return CACHE.computeIfAbsent(new Key(epsilon, maxTerms), AtanCoefficients::build);
+    }
+
+    static int cachedCount() {
+        return CACHE.size();
+    }
+
+    private static AtanCoefficients build(Key key) {
+        // Худший случай считается той же арифметикой, что и в AtanSeries, поэтому
+        // из-за монотонности округления числа членов хватает для любого |x| <= 0.5.
+        int limit = key.maxTerms() - 1;
+        double[] ratios = new double[Math.min(limit, 16)];
+        double xSquared = WORST_CASE_ARGUMENT * WORST_CASE_ARGUMENT;
+        double term = WORST_CASE_ARGUMENT;
+        int count = 0;
+        while (term >= key.epsilon() && count < limit) {
+            if (count == ratios.length) {
+                ratios = Arrays.copyOf(ratios, Math.min(limit, 2 * ratios.length));
+            }
+            ratios[count] = -(2.0 * count + 1.0) / (2.0 * count + 3.0);
+            term *= xSquared * ratios[count];
+            term = Math.abs(term);
+            count++;
+        }
+        return new AtanCoefficients(Arrays.copyOf(ratios, count), term < key.epsilon());
+    }
+
+    /**
+     * @return общий массив отношений; вызывающий код не должен его изменять.
+     */
+    double[] ratios() {
+        return ratios;
+    }
+
+    /**
+     * @return число членов ряда после первого, которого хватает для |x| <= 0.5.
+     */
+    int worstCaseTerms() {
+        return ratios.length;
+    }
+
+    /**
+     * @return false, если для |x| = 0.5 ряд не сходится за maxTerms членов.
+     */
+    boolean convergesInWorstCase() {
+        return convergesInWorstCase;
+    }
+
+    private record Key(double epsilon, int maxTerms) {
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.math;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Потоковое вычисление arctg для файлов из little-endian double.
+ *
+ * Входной и выходной файлы отображаются в память окнами по windowDoubles значений;
+ * arctg считается прямо на DoubleBuffer-представлениях окон, без загрузки файла в кучу.
+ * После каждого окна результаты сбрасываются на диск, и слушателю сообщается индекс
+ * первого необработанного значения - с него можно продолжить прерванный запуск.
+ *
+ * Продолжение поддерживается только при отдельном выходном файле: при обработке на месте
+ * страницы текущего окна могут попасть на диск до сообщения о прогрессе, и после сбоя
+ * часть аргументов окна уже заменена результатами, что по файлу не распознать.
+ */
+public final class AtanFileStreamer {
+    public static final int DEFAULT_WINDOW_DOUBLES = 1 << 20;
+    public static final int MAX_WINDOW_DOUBLES = Integer.MAX_VALUE / Double.BYTES;
+
+    /**
+     * Получает уведомления о ходе обработки после каждого окна.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param processed индекс первого необработанного значения (он же - смещение для продолжения).
+         * @param total общее число значений во входном файле.
+         */
+        void onProgress(long processed, long total);
+    }
+
+    private final AtanSeries atanSeries;
+    private final int windowDoubles;
+
+    public AtanFileStreamer(AtanSeries atanSeries) {
+        this(atanSeries, DEFAULT_WINDOW_DOUBLES);
+    }
+
+    /**
+     * @param atanSeries калькулятор, которым считаются значения.
+     * @param windowDoubles число значений в одном отображаемом окне.
+     */
+    public AtanFileStreamer(AtanSeries atanSeries, int windowDoubles) {
+        if (windowDoubles <= 0 || windowDoubles > MAX_WINDOW_DOUBLES) {
+            throw new IllegalArgumentException("windowDoubles must be in [1, " + MAX_WINDOW_DOUBLES + "]");
+        }
+        this.atanSeries = Objects.requireNonNull(atanSeries, "atanSeries");
+        this.windowDoubles = windowDoubles;
+    }
+
+    public int getWindowDoubles() {
+        return windowDoubles;
+    }
+
+    /**
+     * Обрабатывает весь файл.
+     *
+     * @return число обработанных значений.
+     */
+    public long process(Path input, Path output) throws IOException {
+        return process(input, output, 0, null);
+    }
+
+    /**
+     * Обрабатывает значения входного файла начиная с startIndex.
+     * Выходной файл создается при необходимости; значения до startIndex в нем не изменяются.
+     * Если input и output - один и тот же файл, результаты записываются на место аргументов;
+     * продолжить такую обработку нельзя (startIndex должен быть 0), так как повторный запуск
+     * применил бы arctg второй раз к уже записанным значениям прерванного окна.
+     *
+     * @param input файл аргументов.
+     * @param output файл результатов.
+     * @param startIndex индекс значения, с которого продолжить обработку.
+     * @param listener слушатель прогресса или null.
+     * @return число обработанных значений.
+     */
+    public long process(Path input, Path output, long startIndex, ProgressListener listener) throws IOException {
+        boolean inPlace = Files.exists(output) && Files.isSameFile(input, output);
+
+        try (FileChannel source = inPlace
+                 ? FileChannel.open(input, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                 : FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel target = inPlace
+                 ? null
+                 : FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = source.size();
+            if (size % Double.BYTES != 0) {
+                throw new IllegalArgumentException("input size " + size + " is not a multiple of " + Double.BYTES);
+            }
+            long total = size / Double.BYTES;
+            if (startIndex < 0 || startIndex > total) {
+                throw new IllegalArgumentException("startIndex must be in [0, " + total + "]");
+            }
+            if (inPlace && startIndex > 0) {
+                throw new IllegalArgumentException("in-place processing cannot be resumed: startIndex must be 0");
+            }
+            if (target != null && target.size() > size) {
+                target.truncate(size);
+            }
+
+            for (long index = startIndex; index < total; ) {
+                int count = (int) Math.min(windowDoubles, total - index);
+                long position = index * Double.BYTES;
+                long bytes = (long) count * Double.BYTES;
+
+                MappedByteBuffer result = (inPlace ? source : target)
+                    .map(FileChannel.MapMode.READ_WRITE, position, bytes);
+                MappedByteBuffer arguments = inPlace
+                    ? result
+                    : source.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+
+                atanSeries.atan(
+                    arguments.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer(),
+                    result.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer()
+                );
+                result.force();
+
+                index += count;
+                if (listener != null) {
+                    listener.onProgress(index, total);
+                }
+            }
+            return total - startIndex;
+        }
+    }
+}
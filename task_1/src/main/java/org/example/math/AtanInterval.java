@@ -0,0 +1,35 @@
+package org.example.math;
+
+/**
+ * Гарантированные границы значения arctg(x): lower <= arctg(x) <= upper.
+ *
+ * @param lower нижняя граница.
+ * @param upper верхняя граница.
+ */
+public record AtanInterval(double lower, double upper) {
+
+    /**
+     * @return true, если value лежит в [lower, upper].
+     */
+    public boolean contains(double value) {
+        return lower <= value && value <= upper;
+    }
+
+    /**
+     * @return upper - lower.
+     */
+    public double width() {
+        return upper - lower;
+    }
+
+    /**
+     * @return середина отрезка.
+     */
+    public double midpoint() {
+        return lower + (upper - lower) / 2.0;
+    }
+
+    AtanInterval negate() {
+        return new AtanInterval(-upper, -lower);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.math;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики вычислений {@link AtanSeries}, включаемые через {@link AtanSeries#withMetrics()}.
+ *
+ * Все счетчики - {@link LongAdder}, поэтому обновления из многих потоков не сериализуются.
+ */
+public final class AtanMetrics {
+    /** Размер гистограммы числа членов; последняя ячейка собирает все большие значения. */
+    public static final int HISTOGRAM_SIZE = 64;
+    /** Доля maxTerms, начиная с которой вычисление считается близким к отказу. */
+    public static final double NEAR_MISS_SHARE = 0.9;
+
+    /**
+     * События, по которым ведется счет. Один вызов может дать несколько событий,
+     * например RECIPROCAL и HALF_ANGLE.
+     */
+    public enum Event {
+        /** Аргумент NaN. */
+        NAN,
+        /** Аргумент - бесконечность. */
+        INFINITY,
+        /** Аргумент - ноль любого знака. */
+        ZERO,
+        /** |x| > 1: переход к 1 / x. */
+        RECIPROCAL,
+        /** Преобразование половинного угла. */
+        HALF_ANGLE,
+        /** Приведение по таблице. */
+        TABLE,
+        /** Ряд (или многочлен) вычислен без дополнительного приведения после возможного 1 / x. */
+        DIRECT,
+        /** Ряд не сошелся за maxTerms членов. */
+        NOT_CONVERGED
+    }
+
+    private final LongAdder[] events = newAdders(Event.values().length);
+    private final LongAdder[] termsHistogram = newAdders(HISTOGRAM_SIZE);
+    private final LongAdder nearMisses = new LongAdder();
+    private final int nearMissTerms;
+
+    AtanMetrics(int maxTerms) {
+        this.nearMissTerms = (int) Math.ceil(maxTerms * NEAR_MISS_SHARE);
+    }
+
+    /**
+     * @return число событий данного вида.
+     */
+    public long count(Event event) {
+        return events[event.ordinal()].sum();
+    }
+
+    /**
+     * @return снимок гистограммы: элемент i - число вычислений ряда, использовавших i членов
+     *         (в пакетном режиме каждому элементу блока засчитывается общее для блока число членов).
+     */
+    public long[] termsHistogram() {
+        long[] snapshot = new long[HISTOGRAM_SIZE];
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            snapshot[i] = termsHistogram[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return среднее число членов на вычисление ряда по гистограмме или 0, если вычислений не было;
+     *         значения из последней ячейки считаются равными HISTOGRAM_SIZE - 1.
+     */
+    public double meanTerms() {
+        long terms = 0;
+        long computations = 0;
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            long count = termsHistogram[i].sum();
+            terms += i * count;
+            computations += count;
+        }
+        return computations == 0 ? 0.0 : (double) terms / computations;
+    }
+
+    /**
+     * @return число вычислений ряда, использовавших не меньше NEAR_MISS_SHARE * maxTerms членов.
+     */
+    public long nearMisses() {
+        return nearMisses.sum();
+    }
+
+    /**
+     * Обнуляет все счетчики.
+     */
+    public void reset() {
+        for (LongAdder adder : events) {
+            adder.reset();
+        }
+        for (LongAdder adder : termsHistogram) {
+            adder.reset();
+        }
+        nearMisses.reset();
+    }
+
+    void record(Event event) {
+        events[event.ordinal()].increment();
+    }
+
+    void record(Event event, long times) {
+        events[event.ordinal()].add(times);
+    }
+
+    void recordTerms(int terms, long times) {
+        termsHistogram[Math.min(terms, HISTOGRAM_SIZE - 1)].add(times);
+        if (terms >= nearMissTerms) {
+            nearMisses.add(times);
+        }
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
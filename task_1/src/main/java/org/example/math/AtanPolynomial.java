@@ -0,0 +1,126 @@
+package org.example.math;
+
+/**
+ * Многочлен фиксированной степени, приближающий arctg(r) на отрезке [-radius, radius].
+ *
+ * Строится из ряда Тейлора, степень которого затем понижается экономизацией Чебышева:
+ * старший член заменяется разностью с многочленом Чебышева той же степени, пока
+ * суммарная оценка погрешности не превышает заданный допуск. Результат близок
+ * к минимаксному многочлену и имеет строгую оценку погрешности.
+ *
+ * Хранит коэффициенты при r, r^3, r^5, ..., вычисление - схемой Горнера по r^2.
+ */
+final class AtanPolynomial {
+    private final double[] coefficients;
+
+    private AtanPolynomial(double[] coefficients) {
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * @param tolerance допустимая погрешность на всем отрезке.
+     * @param radius половина длины отрезка приближения, 0 < radius < 1.
+     * @return многочлен с погрешностью не больше tolerance (без учета округлений).
+     */
+    static AtanPolynomial build(double tolerance, double radius) {
+        // Четверть допуска отводится на обрезание ряда Тейлора, остаток - на экономизацию.
+        int taylorTerms = 1;
+        double radiusSquared = radius * radius;
+        double power = radius;
+        while (power * radiusSquared / (2.0 * taylorTerms + 1.0) > tolerance / 4.0) {
+            power *= radiusSquared;
+            taylorTerms++;
+        }
+        double spent = power * radiusSquared / (2.0 * taylorTerms + 1.0);
+
+        // Коэффициенты в переменной s = r / radius, s из [-1, 1].
+        double[] scaled = new double[taylorTerms];
+        double scale = radius;
+        for (int k = 0; k < taylorTerms; k++) {
+            scaled[k] = (k % 2 == 0 ? 1.0 : -1.0) * scale / (2.0 * k + 1.0);
+            scale *= radiusSquared;
+        }
+
+        int terms = taylorTerms;
+        while (terms > 1) {
+            int top = terms - 1;
+            int degree = 2 * top + 1;
+            double leading = Math.scalb(1.0, degree - 1);
+            double error = Math.abs(scaled[top]) / leading;
+            if (spent + error > tolerance) {
+                break;
+            }
+
+            double[] chebyshev = chebyshev(degree);
+            double factor = scaled[top] / leading;
+            for (int k = 0; k < top; k++) {
+                scaled[k] -= factor * chebyshev[2 * k + 1];
+            }
+            spent += error;
+            terms--;
+        }
+
+        double[] coefficients = new double[terms];
+        scale = radius;
+        for (int k = 0; k < terms; k++) {
+            coefficients[k] = scaled[k] / scale;
+            scale *= radiusSquared;
+        }
+        return new AtanPolynomial(coefficients);
+    }
+
+    /**
+     * @return число ненулевых коэффициентов (членов) многочлена.
+     */
+    int terms() {
+        return coefficients.length;
+    }
+
+    double evaluate(double r) {
+        double rSquared = r * r;
+        double sum = coefficients[coefficients.length - 1];
+        for (int k = coefficients.length - 2; k >= 0; k--) {
+            sum = sum * rSquared + coefficients[k];
+        }
+        return r * sum;
+    }
+
+    /**
+     * Вычисляет многочлен для каждого r: столбцы коэффициентов во внешнем цикле,
+     * элементы во внутреннем, чтобы внутренний цикл векторизовался.
+     */
+    void evaluate(double[] reduced, double[] squares, double[] out, int outOffset, int count) {
+        double top = coefficients[coefficients.length - 1];
+        for (int i = 0; i < count; i++) {
+            out[outOffset + i] = top;
+        }
+        for (int k = coefficients.length - 2; k >= 0; k--) {
+            double coefficient = coefficients[k];
+            for (int i = 0; i < count; i++) {
+                out[outOffset + i] = out[outOffset + i] * squares[i] + coefficient;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            out[outOffset + i] *= reduced[i];
+        }
+    }
+
+    private static double[] chebyshev(int degree) {
+        double[] previous = new double[degree + 1];
+        double[] current = new double[degree + 1];
+        previous[0] = 1.0;
+        current[1] = 1.0;
+        for (int n = 1; n < degree; n++) {
+            double[] next = new double[degree + 1];
+            for (int j = 0; j < degree; j++) {
+                next[j + 1] += 2.0 * current[j];
+            }
+            for (int j = 0; j <= degree; j++) {
+                next[j] -= previous[j];
+            }
+            previous = current;
+            current = next;
+        }
+        return current;
+    }
+}
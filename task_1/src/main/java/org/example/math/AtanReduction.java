@@ -0,0 +1,68 @@
+package org.example.math;
+
+/**
+ * Приведение аргумента arctg, общее для {@link AtanSeries} и {@link FloatAtanSeries}:
+ * для |x| > 1 - переход к 1 / |x|, затем ближайший узел таблицы ({@link AtanReductionTable})
+ * или, без таблицы, половинный угол для y > 0.5. Результат - arctg(|x|) = offset + scale * arctg(argument),
+ * где ряд для argument суммируется до порога threshold (в нем уже учтен множитель scale).
+ */
+final class AtanReduction {
+    private static final double HALF_PI = Math.PI / 2.0;
+    static final double DIRECT_SERIES_LIMIT = 0.5;
+
+    /**
+     * @param offset слагаемое результата.
+     * @param scale множитель при arctg(argument).
+     * @param argument приведенный аргумент ряда.
+     * @param threshold порог членов ряда.
+     * @param event ветка приведения отрезка [0, 1] для метрик: TABLE, HALF_ANGLE или DIRECT.
+     */
+    record Reduced(double offset, double scale, double argument, double threshold, AtanMetrics.Event event) {
+    }
+
+    private final AtanReductionTable table;
+    private final double directThreshold;
+    private final double halfAngleThreshold;
+
+    /**
+     * @param table таблица узлов или null - тогда приведение половинным углом.
+     * @param directThreshold порог ряда при scale = ±1.
+     * @param halfAngleThreshold порог ряда после половинного угла (scale = ±2).
+     */
+    AtanReduction(AtanReductionTable table, double directThreshold, double halfAngleThreshold) {
+        this.table = table;
+        this.directThreshold = directThreshold;
+        this.halfAngleThreshold = halfAngleThreshold;
+    }
+
+    /**
+     * @param absX |x|; для 0, бесконечности и NaN получаются arctg 0, pi/2 и NaN без отдельных проверок.
+     */
+    Reduced reduce(double absX) {
+        boolean reciprocal = absX > 1.0;
+        return reduceUnit(reciprocal ? 1.0 / absX : absX, reciprocal ? HALF_PI : 0.0, reciprocal ? -1.0 : 1.0);
+    }
+
+    /**
+     * offset + scale * arctg(y) для y из [0, 1].
+     */
+    Reduced reduceUnit(double y, double offset, double scale) {
+        // Один return: объект из единственного места создания JIT заменяет локальными переменными.
+        double argument = y;
+        double threshold = directThreshold;
+        AtanMetrics.Event event = AtanMetrics.Event.DIRECT;
+        if (table != null) {
+            int index = table.index(y);
+            double breakpoint = table.breakpoint(index);
+            offset += scale * table.atanAt(index);
+            argument = (y - breakpoint) / (1.0 + y * breakpoint);
+            event = AtanMetrics.Event.TABLE;
+        } else if (y > DIRECT_SERIES_LIMIT) {
+            argument = y / (1.0 + Math.sqrt(1.0 + y * y));
+            scale *= 2.0;
+            threshold = halfAngleThreshold;
+            event = AtanMetrics.Event.HALF_ANGLE;
+        }
+        return new Reduced(offset, scale, argument, threshold, event);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.math;
+
+import java.nio.DoubleBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Таблица узлов c_k = k / size и значений arctg(c_k) для k = 0..size.
+ *
+ * Для y из [0, 1] выбирается ближайший узел c_k, после чего
+ * arctg(y) = arctg(c_k) + arctg((y - c_k) / (1 + y * c_k)),
+ * где остаточный аргумент по модулю не превышает 1 / (2 * size).
+ *
+ * Таблицы неизменяемы, разделяются между калькуляторами с одинаковыми epsilon и size
+ * и хранятся в ограниченном LRU-кэше, как {@link AtanCoefficients}: калькуляторы держат
+ * свои таблицы сами, а вытесненная таблица при следующем запросе строится заново.
+ */
+final class AtanReductionTable {
+    static final int MAX_SIZE = 1 << 16;
+    static final int MAX_CACHED = 64;
+    /** Меняется вместе с любым изменением построения таблицы (см. {@link AtanTableCache}). */
+    static final long VERSION_HASH = AtanTableFile.versionHash(
+        "AtanReductionTable: nodes k/size, values AtanSeries(errorFor(epsilon), COMPENSATED)"
+    );
+
+    private static final Map<Key, AtanReductionTable> SHARED = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, AtanReductionTable> eldest) {
+                return size() > MAX_CACHED;
+            }
+        }
+    );
+
+    private final int size;
+    private final double[] atanValues;
+
+    private AtanReductionTable(int size, double[] atanValues) {
+        this.size = size;
+        this.atanValues = atanValues;
+    }
+
+    /**
+     * @param epsilon точность калькулятора, для которого строится таблица.
+     * @param size число отрезков между узлами на [0, 1].
+     * @return общая для всех калькуляторов с теми же параметрами таблица.
+     */
+    static AtanReductionTable shared(double epsilon, int size) {
+        return SHARED.computeIfAbsent(new Key(epsilon, size), AtanReductionTable::build);
+    }
+
+    /**
+     * Делает таблицу с заранее вычисленными значениями (например, загруженными из файла)
+     * общей, если для этих epsilon и size общей таблицы еще нет.
+     *
+     * @return общая таблица для epsilon и size.
+     */
+    static AtanReductionTable install(double epsilon, int size, double[] atanValues) {
+        if (atanValues.length != size + 1) {
+            throw new IllegalArgumentException("expected " + (size + 1) + " values, got " + atanValues.length);
+        }
+        AtanReductionTable table = new AtanReductionTable(size, atanValues);
+        AtanReductionTable existing = SHARED.putIfAbsent(new Key(epsilon, size), table);
+        return existing != null ? existing : table;
+    }
+
+    /**
+     * @return true, если общая таблица для epsilon и size уже построена или загружена.
+     */
+    static boolean isShared(double epsilon, int size) {
+        return SHARED.containsKey(new Key(epsilon, size));
+    }
+
+    static int cachedCount() {
+        return SHARED.size();
+    }
+
+    /**
+     * @return оценка сверху ошибки значений таблицы, построенной для epsilon.
+     */
+    static double errorFor(double epsilon) {
+        return Math.max(epsilon / 4.0, Double.MIN_VALUE);
+    }
+
+    private static AtanReductionTable build(Key key) {
+        // Значения в узлах считаются тем же рядом с запасом по точности и с компенсацией
+        // округлений, чтобы ошибка таблицы была мала по сравнению с epsilon и не больше ulp.
+        AtanSeries reference = new AtanSeries(errorFor(key.epsilon()), 100_000, AtanSeries.Mode.COMPENSATED);
+        double[] values = new double[key.size() + 1];
+        for (int k = 0; k <= key.size(); k++) {
+            values[k] = reference.atan((double) k / key.size());
+        }
+        return new AtanReductionTable(key.size(), values);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return оценка сверху модуля остаточного аргумента (с небольшим запасом на округления).
+     */
+    double maxResidual() {
+        return (0.5 + 1e-6) / size;
+    }
+
+    /**
+     * @param y аргумент из [0, 1].
+     * @return индекс ближайшего узла.
+     */
+    int index(double y) {
+        return (int) (y * size + 0.5);
+    }
+
+    double breakpoint(int index) {
+        return (double) index / size;
+    }
+
+    double atanAt(int index) {
+        return atanValues[index];
+    }
+
+    /**
+     * @return значения arctg(c_k), k = 0..size, только для чтения.
+     */
+    DoubleBuffer values() {
+        return DoubleBuffer.wrap(atanValues).asReadOnlyBuffer();
+    }
+
+    private record Key(double epsilon, int size) {
+    }
+}
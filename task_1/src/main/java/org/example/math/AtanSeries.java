@@ -1,12 +1,83 @@
 package org.example.math;
 
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Вычисляет arctg(x) через степенной ряд с преобразованиями,
  * ускоряющими сходимость для |x|, близких к 1 и больше 1.
  */
 public final class AtanSeries {
+    private static final double HALF_PI = Math.PI / 2.0;
+    private static final int BLOCK_SIZE = 256;
+    private static final int MIN_PARALLEL_CHUNK = 32 * BLOCK_SIZE;
+    private static final int CHUNKS_PER_WORKER = 8;
+    private static final double DIRECT_SERIES_LIMIT = AtanReduction.DIRECT_SERIES_LIMIT;
+    /**
+     * Оценка сверху суммарной ошибки округления: константа pi/2, обращение, корень
+     * в преобразовании половинного угла, накопление суммы ряда и итоговое сложение.
+     */
+    private static final double ROUNDING_ALLOWANCE = 8.0 * Math.ulp(1.0);
+    /**
+     * То же для {@link Mode#COMPENSATED}: остаются половина ulp итогового округления
+     * (результат по модулю не больше pi) и ошибка обращения 1 / x, не больше половины ulp.
+     */
+    private static final double COMPENSATED_ROUNDING_ALLOWANCE = 2.0 * Math.ulp(1.0);
+    /** Младшие части pi и pi/2: Math.PI + PI_LOW и HALF_PI + HALF_PI_LOW точнее double. */
+    private static final double PI_LOW = 1.2246467991473532e-16;
+    private static final double HALF_PI_LOW = PI_LOW / 2.0;
+
+    /**
+     * Способ вычисления arctg на приведенном отрезке |x| <= 0.5.
+     */
+    public enum Mode {
+        /** Суммирование ряда до тех пор, пока |член ряда| не станет меньше порога, выведенного из epsilon. */
+        SERIES,
+        /**
+         * Многочлен фиксированной степени, подобранный под epsilon при создании калькулятора:
+         * без делений и без зависящего от данных выхода из цикла.
+         */
+        POLYNOMIAL,
+        /**
+         * Суммирование ряда с ускорением сходимости epsilon-алгоритмом Винна: примерно вдвое
+         * меньше членов, чем в {@link #SERIES}, что важно при малом maxTerms. Остановка - когда
+         * две соседние оценки различаются меньше порога (или когда сходится сам ряд).
+         * В отличие от {@link #SERIES}, где ошибку ограничивает остаток знакочередующегося ряда,
+         * такая остановка эвристическая: epsilon соблюдается на практике (на плотной сетке около
+         * |x| = 1 ошибка на порядок меньше epsilon), но не гарантируется оценкой.
+         * Каждый член обходится дороже (m делений на m-м члене), так что режим полезен
+         * прежде всего при ограниченном maxTerms, а не ради скорости.
+         */
+        ACCELERATED,
+        /**
+         * Суммирование ряда с компенсацией ошибок округления (Ноймайер): сумма хранится
+         * парой double (значение и поправка), приведение половинным углом или по таблице
+         * и итоговое offset + scale * S считаются с младшими частями, в том числе pi/2 и pi.
+         * Результат отличается от точного не больше чем примерно на ulp, поэтому при epsilon
+         * около 1e-15 из бюджета не вычитается запас на накопленные округления и членов ряда
+         * нужно не больше, чем в {@link #SERIES}. Цена - несколько лишних сложений и fma
+         * на член ряда и отказ от общего векторизуемого цикла в пакетном режиме (примерно
+         * вдвое медленнее {@link #SERIES}); при epsilon 1e-12 и больше выигрыша в точности нет.
+         */
+        COMPENSATED
+    }
+
     private final double epsilon;
     private final int maxTerms;
+    private final Mode mode;
+    private final AtanReductionTable reductionTable;
+    private final AtanReduction reduction;
+    private final AtanPolynomial polynomial;
+    private final AtanCoefficients coefficients;
+    private final double directThreshold;
+    private final double halfAngleThreshold;
+    private final AtanMetrics metrics;
+    // Антидиагональ таблицы Винна для ACCELERATED: своя у каждого потока, чтобы не создавать ее на каждый вызов.
+    private final ThreadLocal<double[]> acceleratedDiagonal;
 
     /**
      * Создает калькулятор с параметрами по умолчанию.
@@ -17,13 +88,102 @@ public final class AtanSeries {
     }
 
     /**
-     * @param epsilon порог остановки: когда |очередной член ряда| < epsilon, суммирование прекращается.
+     * @param epsilon требуемая точность: |результат - arctg(x)| <= epsilon
+     *                (при epsilon порядка 1e-15 и меньше точность ограничена округлением double).
      * @param maxTerms максимум членов ряда, который разрешено использовать.
      */
     public AtanSeries(double epsilon, int maxTerms) {
+        this(epsilon, maxTerms, Mode.SERIES);
+    }
+
+    /**
+     * В режиме {@link Mode#POLYNOMIAL} погрешность многочлена на приведенном отрезке
+     * выбирается с учетом удвоения в преобразовании половинного угла, так что итоговая
+     * погрешность, как и в режиме {@link Mode#SERIES}, не превышает epsilon.
+     *
+     * @param epsilon требуемая точность.
+     * @param maxTerms максимум членов ряда (или многочлена), который разрешено использовать.
+     * @param mode способ вычисления на приведенном отрезке.
+     */
+    public AtanSeries(double epsilon, int maxTerms, Mode mode) {
+        this(epsilon, maxTerms, mode, 0);
+    }
+
+    /**
+     * Вместо преобразования половинного угла (с вычислением корня) аргумент из [0, 1]
+     * приводится по таблице из reductionTableSize + 1 узлов c_k = k / reductionTableSize:
+     * arctg(x) = arctg(c_k) + arctg((x - c_k) / (1 + x * c_k)), |остаток| <= 1 / (2 * reductionTableSize).
+     * Таблица строится один раз и разделяется между калькуляторами с тем же epsilon.
+     *
+     * @param epsilon требуемая точность.
+     * @param maxTerms максимум членов ряда (или многочлена), который разрешено использовать.
+     * @param mode способ вычисления на приведенном отрезке.
+     * @param reductionTableSize число отрезков таблицы приведения; 0 - без таблицы.
+     */
+    public AtanSeries(double epsilon, int maxTerms, Mode mode, int reductionTableSize) {
         validateArguments(epsilon, maxTerms);
+        if (reductionTableSize < 0 || reductionTableSize > AtanReductionTable.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "reductionTableSize must be in [0, " + AtanReductionTable.MAX_SIZE + "]"
+            );
+        }
         this.epsilon = epsilon;
         this.maxTerms = maxTerms;
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.reductionTable = reductionTableSize == 0
+            ? null
+            : AtanReductionTable.shared(epsilon, reductionTableSize);
+
+        // Бюджет ошибки: |scale| * (ошибка ряда) + (ошибка таблицы) + (округления) <= epsilon,
+        // где scale = 2 после преобразования половинного угла и 1 в остальных случаях.
+        double tableError = reductionTable == null ? 0.0 : AtanReductionTable.errorFor(epsilon);
+        double roundingAllowance = mode == Mode.COMPENSATED ? COMPENSATED_ROUNDING_ALLOWANCE : ROUNDING_ALLOWANCE;
+        double seriesBudget = Math.max(epsilon - tableError - roundingAllowance, epsilon / 4.0);
+        this.directThreshold = seriesBudget;
+        this.halfAngleThreshold = reductionTable == null ? seriesBudget / 2.0 : seriesBudget;
+        this.reduction = new AtanReduction(reductionTable, directThreshold, halfAngleThreshold);
+
+        double radius = reductionTable == null ? DIRECT_SERIES_LIMIT : reductionTable.maxResidual();
+        this.polynomial = mode == Mode.POLYNOMIAL
+            ? buildPolynomial(epsilon, halfAngleThreshold, maxTerms, radius)
+            : null;
+        this.coefficients = AtanCoefficients.shared(halfAngleThreshold, maxTerms);
+        this.metrics = null;
+        this.acceleratedDiagonal = mode == Mode.ACCELERATED
+            ? ThreadLocal.withInitial(() -> new double[coefficients.ratios().length + 1])
+            : null;
+    }
+
+    private AtanSeries(AtanSeries source, AtanMetrics metrics) {
+        this.epsilon = source.epsilon;
+        this.maxTerms = source.maxTerms;
+        this.mode = source.mode;
+        this.reductionTable = source.reductionTable;
+        this.reduction = source.reduction;
+        this.polynomial = source.polynomial;
+        this.coefficients = source.coefficients;
+        this.directThreshold = source.directThreshold;
+        this.halfAngleThreshold = source.halfAngleThreshold;
+        this.metrics = metrics;
+        this.acceleratedDiagonal = source.acceleratedDiagonal;
+    }
+
+    /**
+     * Создает калькулятор с теми же параметрами (и общими таблицами), который ведет
+     * счетчики по веткам вычисления и числу членов ряда. У исходного калькулятора
+     * метрики не появляются: без них проверка сводится к сравнению поля с null.
+     *
+     * @return новый калькулятор с собственным набором метрик.
+     */
+    public AtanSeries withMetrics() {
+        return new AtanSeries(this, new AtanMetrics(maxTerms));
+    }
+
+    /**
+     * @return метрики калькулятора, созданного через {@link #withMetrics()}, иначе null.
+     */
+    public AtanMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -32,21 +192,311 @@ public final class AtanSeries {
      */
     public double atan(double x) {
         if (Double.isNaN(x)) {
+            record(AtanMetrics.Event.NAN);
             return Double.NaN;
         }
         if (x == Double.POSITIVE_INFINITY) {
+            record(AtanMetrics.Event.INFINITY);
             return Math.PI / 2.0;
         }
         if (x == Double.NEGATIVE_INFINITY) {
+            record(AtanMetrics.Event.INFINITY);
             return -Math.PI / 2.0;
         }
         if (x == 0.0) {
+            record(AtanMetrics.Event.ZERO);
             return x;
         }
 
         return atanInternal(x);
     }
 
+    /**
+     * Пакетный вариант {@link #atan(double)}: out[i] = arctg(in[i]).
+     *
+     * @param in аргументы.
+     * @param out массив для результатов, не короче in.
+     */
+    public void atan(double[] in, double[] out) {
+        atan(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(double)} для подмассивов:
+     * out[outOffset + i] = arctg(in[inOffset + i]) для i из [0, length).
+     *
+     * Аргументы обрабатываются блоками: сначала для всего блока выполняется
+     * преобразование аргумента без рекурсии, затем ряд суммируется с одинаковым
+     * для блока числом членов, чтобы внутренний цикл векторизовался JIT-компилятором.
+     * Допускается вызов "на месте" (in == out при inOffset == outOffset).
+     *
+     * @param in аргументы.
+     * @param inOffset индекс первого аргумента в in.
+     * @param out массив для результатов.
+     * @param outOffset индекс первого результата в out.
+     * @param length число обрабатываемых элементов.
+     */
+    public void atan(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(inOffset, length, in.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        atanRange(in, inOffset, out, outOffset, length);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(double)} для буферов (в том числе отображенных в память):
+     * читает in.remaining() аргументов начиная с позиции in и пишет результаты начиная
+     * с позиции out, после чего сдвигает позиции обоих буферов.
+     *
+     * Данные проходят через переиспользуемые массивы размером в один блок,
+     * копия всего буфера в куче не создается. Допускается in == out.
+     *
+     * @param in аргументы.
+     * @param out буфер для результатов, в котором осталось не меньше in.remaining() мест.
+     */
+    public void atan(DoubleBuffer in, DoubleBuffer out) {
+        int length = in.remaining();
+        if (out.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        int inPosition = in.position();
+        int outPosition = out.position();
+        int blockSize = Math.min(length, BLOCK_SIZE);
+        double[] terms = new double[blockSize];
+        double[] squares = new double[blockSize];
+        double[] scales = new double[blockSize];
+        double[] offsets = new double[blockSize];
+        double[] results = new double[blockSize];
+
+        for (int done = 0; done < length; done += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, length - done);
+            in.get(inPosition + done, terms, 0, count);
+            atanBlock(terms, 0, results, 0, count, terms, squares, scales, offsets);
+            out.put(outPosition + done, results, 0, count);
+        }
+
+        in.position(inPosition + length);
+        out.position(outPosition + length);
+    }
+
+    /**
+     * Параллельный вариант {@link #atan(double[], double[])} на общем пуле ForkJoin.
+     *
+     * @param in аргументы.
+     * @param out массив для результатов, не короче in.
+     */
+    public void parallelAtan(double[] in, double[] out) {
+        parallelAtan(in, out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельный вариант {@link #atan(double[], double[])}.
+     *
+     * Массив делится пополам, пока куски больше порога, зависящего от длины и
+     * параллелизма пула. Границы кусков кратны размеру блока пакетного режима,
+     * поэтому каждый результат побитово совпадает с последовательным вызовом.
+     *
+     * @param in аргументы.
+     * @param out массив для результатов, не короче in.
+     * @param pool пул, в котором выполняются вычисления.
+     */
+    public void parallelAtan(double[] in, double[] out, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        Objects.checkFromIndexSize(0, in.length, out.length);
+
+        int perWorker = in.length / (pool.getParallelism() * CHUNKS_PER_WORKER);
+        int chunk = Math.max(MIN_PARALLEL_CHUNK, perWorker - perWorker % BLOCK_SIZE);
+        if (in.length <= chunk) {
+            atanRange(in, 0, out, 0, in.length);
+            return;
+        }
+        pool.invoke(new ParallelAtanTask(in, out, 0, in.length, chunk));
+    }
+
+    private void atanRange(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        int blockSize = Math.min(length, BLOCK_SIZE);
+        double[] terms = new double[blockSize];
+        double[] squares = new double[blockSize];
+        double[] scales = new double[blockSize];
+        double[] offsets = new double[blockSize];
+
+        for (int done = 0; done < length; done += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, length - done);
+            atanBlock(in, inOffset + done, out, outOffset + done, count, terms, squares, scales, offsets);
+        }
+    }
+
+    /**
+     * Общий цикл по блокам для производных функций: reduction заполняет аргументы
+     * из [0, 1] и множители блока, остальное делает {@link #evaluateUnitBlock}.
+     */
+    private void evaluateBlocks(double[] out, int length, UnitReduction reduction) {
+        int blockSize = Math.min(length, BLOCK_SIZE);
+        double[] terms = new double[blockSize];
+        double[] squares = new double[blockSize];
+        double[] scales = new double[blockSize];
+        double[] offsets = new double[blockSize];
+
+        for (int done = 0; done < length; done += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, length - done);
+            reduction.reduce(done, count, terms, scales, offsets);
+            evaluateUnitBlock(out, done, count, terms, squares, scales, offsets);
+        }
+    }
+
+    /**
+     * Вычисляет гарантированные границы arctg(x) тем же рядом и тем же приведением аргумента.
+     *
+     * Остаток знакочередующегося ряда по модулю не больше следующего члена, а он не больше
+     * |последний член| * r^2. К остатку добавляются оценки ошибок округления приведения
+     * и суммирования, погрешность таблицы (если она используется) и неточность константы pi/2.
+     * В режимах {@link Mode#POLYNOMIAL}, {@link Mode#ACCELERATED} и {@link Mode#COMPENSATED}
+     * границы также считаются по обычному ряду.
+     *
+     * @param x аргумент функции arctg(x).
+     * @return отрезок, содержащий точное значение arctg(x); для NaN - отрезок [NaN, NaN].
+     */
+    public AtanInterval atanInterval(double x) {
+        if (Double.isNaN(x)) {
+            return new AtanInterval(Double.NaN, Double.NaN);
+        }
+        if (x == 0.0) {
+            return new AtanInterval(x, x);
+        }
+
+        AtanInterval positive = atanIntervalOfAbs(Math.abs(x));
+        return x < 0.0 ? positive.negate() : positive;
+    }
+
+    /**
+     * Угол точки (x, y) на плоскости с теми же специальными случаями, что у {@link Math#atan2}.
+     *
+     * Вместо arctg(y / x) с последующим переходом к 1 / x меньший из |y|, |x| делится
+     * на больший (одно деление), а четверть учитывается в offset и scale приведенного ряда.
+     *
+     * @param y ордината.
+     * @param x абсцисса.
+     * @return угол из [-pi, pi] с точностью epsilon.
+     */
+    public double atan2(double y, double x) {
+        double absY = Math.abs(y);
+        double absX = Math.abs(x);
+        if (Double.isNaN(absY) || Double.isNaN(absX)) {
+            record(AtanMetrics.Event.NAN);
+            return Double.NaN;
+        }
+
+        return Math.copySign(atanOfRatio(absY, absX, Math.copySign(1.0, x) < 0.0), y);
+    }
+
+    /**
+     * arcsin(x) = arctg(x / sqrt(1 - x^2)) с одним корнем; 1 - x^2 считается как (1 - |x|)(1 + |x|),
+     * чтобы не терять точность при |x|, близких к 1.
+     *
+     * @param x аргумент из [-1, 1].
+     * @return arcsin(x) с точностью epsilon; NaN, если |x| > 1 или x - NaN.
+     */
+    public double asin(double x) {
+        double absX = Math.abs(x);
+        if (!(absX <= 1.0)) {
+            record(AtanMetrics.Event.NAN);
+            return Double.NaN;
+        }
+        if (absX == 0.0) {
+            record(AtanMetrics.Event.ZERO);
+            return x;
+        }
+
+        double cos = Math.sqrt((1.0 - absX) * (1.0 + absX));
+        return Math.copySign(atanOfRatio(absX, cos, false), x);
+    }
+
+    /**
+     * arccos(x) = arctg(sqrt(1 - x^2) / x) для x > 0 и pi - arctg(sqrt(1 - x^2) / |x|) для x < 0.
+     *
+     * @param x аргумент из [-1, 1].
+     * @return arccos(x) из [0, pi] с точностью epsilon; NaN, если |x| > 1 или x - NaN.
+     */
+    public double acos(double x) {
+        double absX = Math.abs(x);
+        if (!(absX <= 1.0)) {
+            record(AtanMetrics.Event.NAN);
+            return Double.NaN;
+        }
+
+        double sin = Math.sqrt((1.0 - absX) * (1.0 + absX));
+        return atanOfRatio(sin, absX, x < 0.0);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan2(double, double)}: out[i] = atan2(y[i], x[i]).
+     * Метрики в пакетном режиме учитывают только число членов ряда.
+     *
+     * @param y ординаты.
+     * @param x абсциссы, столько же, сколько ординат.
+     * @param out массив для результатов, не короче y.
+     */
+    public void atan2(double[] y, double[] x, double[] out) {
+        if (y.length != x.length) {
+            throw new IllegalArgumentException("y and x must have the same length");
+        }
+        Objects.checkFromIndexSize(0, y.length, out.length);
+
+        evaluateBlocks(out, y.length, (from, count, terms, scales, offsets) -> {
+            for (int i = 0; i < count; i++) {
+                double yi = y[from + i];
+                double xi = x[from + i];
+                reduceRatio(
+                    i, Math.abs(yi), Math.abs(xi), Math.copySign(1.0, yi), Math.copySign(1.0, xi) < 0.0,
+                    terms, scales, offsets
+                );
+            }
+        });
+    }
+
+    /**
+     * Пакетный вариант {@link #asin(double)}: out[i] = arcsin(in[i]).
+     *
+     * @param in аргументы.
+     * @param out массив для результатов, не короче in.
+     */
+    public void asin(double[] in, double[] out) {
+        Objects.checkFromIndexSize(0, in.length, out.length);
+
+        evaluateBlocks(out, in.length, (from, count, terms, scales, offsets) -> {
+            for (int i = 0; i < count; i++) {
+                double x = in[from + i];
+                double absX = Math.abs(x);
+                // При |x| > 1 корень дает NaN, и он проходит до результата.
+                double cos = Math.sqrt((1.0 - absX) * (1.0 + absX));
+                reduceRatio(i, absX, cos, Math.copySign(1.0, x), false, terms, scales, offsets);
+            }
+        });
+    }
+
+    /**
+     * Пакетный вариант {@link #acos(double)}: out[i] = arccos(in[i]).
+     *
+     * @param in аргументы.
+     * @param out массив для результатов, не короче in.
+     */
+    public void acos(double[] in, double[] out) {
+        Objects.checkFromIndexSize(0, in.length, out.length);
+
+        evaluateBlocks(out, in.length, (from, count, terms, scales, offsets) -> {
+            for (int i = 0; i < count; i++) {
+                double x = in[from + i];
+                double absX = Math.abs(x);
+                double sin = Math.sqrt((1.0 - absX) * (1.0 + absX));
+                reduceRatio(i, sin, absX, 1.0, x < 0.0, terms, scales, offsets);
+            }
+        });
+    }
+
     /**
      * @return текущий порог точности (epsilon).
      */
@@ -61,6 +511,20 @@ public final class AtanSeries {
         return maxTerms;
     }
 
+    /**
+     * @return способ вычисления на приведенном отрезке.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return число отрезков таблицы приведения аргумента; 0, если таблица не используется.
+     */
+    public int getReductionTableSize() {
+        return reductionTable == null ? 0 : reductionTable.size();
+    }
+
     private void validateArguments(double epsilon, int maxTerms) {
         if (epsilon <= 0.0 || Double.isNaN(epsilon) || Double.isInfinite(epsilon)) {
             throw new IllegalArgumentException("epsilon must be a positive finite number");
@@ -70,41 +534,607 @@ public final class AtanSeries {
         }
     }
 
+    private static AtanPolynomial buildPolynomial(double epsilon, double tolerance, int maxTerms, double radius) {
+        AtanPolynomial result = AtanPolynomial.build(tolerance, radius);
+        if (result.terms() > maxTerms) {
+            throw new IllegalArgumentException(
+                "maxTerms=" + maxTerms + " is too small for epsilon=" + epsilon
+                    + " in POLYNOMIAL mode, required " + result.terms()
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Приводит аргумент без рекурсии: arctg(x) = sign(x) * (offset + scale * arctg(r)),
+     * и суммирует ряд с порогом, учитывающим множитель scale.
+     */
     private double atanInternal(double x) {
-        double absX = Math.abs(x);
+        double y = Math.abs(x);
+        double offset = 0.0;
+        double scale = 1.0;
+
+        if (y > 1.0) {
+            record(AtanMetrics.Event.RECIPROCAL);
+            y = 1.0 / y;
+            offset = HALF_PI;
+            scale = -1.0;
+        }
+
+        return Math.copySign(atanOfUnit(y, offset, scale), x);
+    }
+
+    /**
+     * Угол из [0, pi]: arctg(num / den) или, если obtuse, pi - arctg(num / den), для num, den >= 0.
+     * Делится меньшее на большее, поэтому деление одно и переход к 1 / x не нужен.
+     */
+    private double atanOfRatio(double num, double den, boolean obtuse) {
+        boolean swapped = num > den;
+        double offset = swapped ? HALF_PI : 0.0;
+        double scale = swapped ? -1.0 : 1.0;
+        if (swapped) {
+            record(AtanMetrics.Event.RECIPROCAL);
+        }
+        if (obtuse) {
+            offset = Math.PI - offset;
+            scale = -scale;
+        }
+        return atanOfUnit(swapped ? unitRatio(den, num) : unitRatio(num, den), offset, scale);
+    }
+
+    /**
+     * offset + scale * arctg(y) для y из [0, 1]: приведение по таблице или половинным углом и ряд.
+     */
+    private double atanOfUnit(double y, double offset, double scale) {
+        if (mode == Mode.COMPENSATED) {
+            return atanOfUnitCompensated(y, offset, scale);
+        }
+        AtanReduction.Reduced reduced = reduction.reduceUnit(y, offset, scale);
+        record(reduced.event());
+        return reduced.offset() + reduced.scale() * atanReduced(reduced.argument(), reduced.threshold());
+    }
+
+    /**
+     * min / max для 0 <= min <= max, где 0 / 0 = 0 и inf / inf = 1; NaN сохраняется.
+     */
+    private static double unitRatio(double min, double max) {
+        if (min == max) {
+            return min == 0.0 ? 0.0 : 1.0;
+        }
+        return min / max;
+    }
+
+    private AtanInterval atanIntervalOfAbs(double absX) {
+        // Math.PI / 2 меньше точного pi / 2, следующее double - уже больше.
+        double halfPiUpper = Math.nextUp(HALF_PI);
+        if (absX == Double.POSITIVE_INFINITY) {
+            return new AtanInterval(HALF_PI, halfPiUpper);
+        }
+
+        boolean reciprocal = absX > 1.0;
+        double y = reciprocal ? 1.0 / absX : absX;
+        double yError = reciprocal ? Math.ulp(y) : 0.0;
+
+        double lower;
+        double upper;
+        if (reductionTable != null) {
+            // Числитель (y - c_k) вычисляется точно (лемма Стербенца), производная остатка по y не больше 2.
+            int index = reductionTable.index(y);
+            double breakpoint = reductionTable.breakpoint(index);
+            double residual = (y - breakpoint) / (1.0 + y * breakpoint);
+            AtanInterval tail = atanEnclosure(residual, 4.0 * Math.ulp(residual) + 2.0 * yError, directThreshold);
+            double tableError = AtanReductionTable.errorFor(epsilon);
+            lower = roundDown(reductionTable.atanAt(index) - tableError + tail.lower());
+            upper = roundUp(reductionTable.atanAt(index) + tableError + tail.upper());
+        } else if (y > DIRECT_SERIES_LIMIT) {
+            // Производная преобразования половинного угла по y не больше 1/2.
+            double r = y / (1.0 + Math.sqrt(1.0 + y * y));
+            AtanInterval half = atanEnclosure(r, 4.0 * Math.ulp(r) + yError, halfAngleThreshold);
+            lower = 2.0 * half.lower();
+            upper = 2.0 * half.upper();
+        } else {
+            AtanInterval direct = atanEnclosure(y, yError, directThreshold);
+            lower = direct.lower();
+            upper = direct.upper();
+        }
+
+        if (reciprocal) {
+            return new AtanInterval(roundDown(HALF_PI - upper), roundUp(halfPiUpper - lower));
+        }
+        return new AtanInterval(lower, upper);
+    }
+
+    /**
+     * Границы arctg на отрезке [r - rError, r + rError]: arctg монотонна и |arctg'| <= 1.
+     */
+    private AtanInterval atanEnclosure(double r, double rError, double threshold) {
+        AtanInterval atR = seriesEnclosure(Math.abs(r), threshold);
+        if (r < 0.0) {
+            atR = atR.negate();
+        }
+        return new AtanInterval(roundDown(atR.lower() - rError), roundUp(atR.upper() + rError));
+    }
+
+    private AtanInterval seriesEnclosure(double r, double threshold) {
+        double xSquared = r * r;
+        double term = r;
+        double sum = term;
+        int used = 1;
+
+        double[] ratios = coefficients.ratios();
+        while (Math.abs(term) >= threshold) {
+            if (used > ratios.length) {
+                throw new IllegalStateException(
+                    "Series did not converge for x=" + r + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
+                );
+            }
+            term *= xSquared * ratios[used - 1];
+            sum += term;
+            used++;
+        }
+
+        double remainder = Math.abs(term) * xSquared;
+        double rounding = (2.0 * used + 4.0) * Math.ulp(r);
+        return new AtanInterval(sum - remainder - rounding, sum + remainder + rounding);
+    }
+
+    private static double roundDown(double value) {
+        return value - 2.0 * Math.ulp(value);
+    }
+
+    private static double roundUp(double value) {
+        return value + 2.0 * Math.ulp(value);
+    }
+
+    private double atanReduced(double x, double threshold) {
+        if (polynomial != null) {
+            recordTerms(polynomial.terms(), 1);
+            return polynomial.evaluate(x);
+        }
+        if (mode == Mode.ACCELERATED) {
+            return atanSeriesAccelerated(x, threshold);
+        }
+        return atanSeriesDirect(x, threshold);
+    }
+
+    private void atanBlock(
+        double[] in,
+        int inOffset,
+        double[] out,
+        int outOffset,
+        int count,
+        double[] terms,
+        double[] squares,
+        double[] scales,
+        double[] offsets
+    ) {
+        if (metrics != null) {
+            recordArguments(in, inOffset, count);
+        }
+
+        // arctg нечетна, поэтому преобразуется |x|, а знак переносится в scale и offset.
+        for (int i = 0; i < count; i++) {
+            double x = in[inOffset + i];
+            double absX = Math.abs(x);
+            double sign = Math.copySign(1.0, x);
+
+            boolean reciprocal = absX > 1.0;
+            terms[i] = reciprocal ? 1.0 / absX : absX;
+            scales[i] = reciprocal ? -sign : sign;
+            offsets[i] = sign * (reciprocal ? HALF_PI : 0.0);
+        }
+
+        evaluateUnitBlock(out, outOffset, count, terms, squares, scales, offsets);
+    }
+
+    /**
+     * Заполняет terms, scales и offsets блока для угла из [0, pi] (см. {@link #atanOfRatio}),
+     * умноженного на sign.
+     */
+    private static void reduceRatio(
+        int i,
+        double num,
+        double den,
+        double sign,
+        boolean obtuse,
+        double[] terms,
+        double[] scales,
+        double[] offsets
+    ) {
+        boolean swapped = num > den;
+        double offset = swapped ? HALF_PI : 0.0;
+        double scale = swapped ? -1.0 : 1.0;
+        if (obtuse) {
+            offset = Math.PI - offset;
+            scale = -scale;
+        }
+
+        terms[i] = swapped ? unitRatio(den, num) : unitRatio(num, den);
+        scales[i] = sign * scale;
+        offsets[i] = sign * offset;
+    }
+
+    /**
+     * Для блока аргументов y из [0, 1] (в terms) вычисляет out[i] = offsets[i] + scales[i] * arctg(y):
+     * приводит y по таблице или половинным углом, затем суммирует ряд (или многочлен).
+     */
+    private void evaluateUnitBlock(
+        double[] out,
+        int outOffset,
+        int count,
+        double[] terms,
+        double[] squares,
+        double[] scales,
+        double[] offsets
+    ) {
+        if (mode == Mode.COMPENSATED) {
+            // Младшие части приведения не помещаются в массивы блока, элементы считаются по одному.
+            for (int i = 0; i < count; i++) {
+                out[outOffset + i] = atanOfUnitCompensated(terms[i], offsets[i], scales[i]);
+            }
+            return;
+        }
+
+        double maxReduced = reductionTable != null
+            ? reduceUnitBlockByTable(count, terms, squares, scales, offsets)
+            : reduceUnitBlock(count, terms, squares, scales);
+
+        if (polynomial != null) {
+            recordTerms(polynomial.terms(), count);
+            polynomial.evaluate(terms, squares, out, outOffset, count);
+        } else if (mode == Mode.ACCELERATED) {
+            // Число членов в ускоренном режиме зависит от элемента, общего цикла по блоку нет.
+            for (int i = 0; i < count; i++) {
+                out[outOffset + i] = atanSeriesAccelerated(terms[i], halfAngleThreshold);
+            }
+        } else {
+            sumSeriesBlock(out, outOffset, count, terms, squares, maxReduced);
+        }
+
+        for (int i = 0; i < count; i++) {
+            out[outOffset + i] = offsets[i] + scales[i] * out[outOffset + i];
+        }
+    }
+
+    /**
+     * @return максимум r по блоку.
+     */
+    private double reduceUnitBlock(int count, double[] terms, double[] squares, double[] scales) {
+        double maxReduced = 0.0;
+        for (int i = 0; i < count; i++) {
+            double y = terms[i];
+            boolean halfAngle = y > DIRECT_SERIES_LIMIT;
+            double r = halfAngle ? y / (1.0 + Math.sqrt(1.0 + y * y)) : y;
+
+            terms[i] = r;
+            squares[i] = r * r;
+            scales[i] *= halfAngle ? 2.0 : 1.0;
+            if (r > maxReduced) {
+                maxReduced = r;
+            }
+        }
+        return maxReduced;
+    }
+
+    private double reduceUnitBlockByTable(
+        int count,
+        double[] terms,
+        double[] squares,
+        double[] scales,
+        double[] offsets
+    ) {
+        double maxReduced = 0.0;
+        for (int i = 0; i < count; i++) {
+            double y = terms[i];
+            // NaN дает индекс 0, поэтому обращение к таблице безопасно.
+            int index = reductionTable.index(y);
+            double breakpoint = reductionTable.breakpoint(index);
+            double r = (y - breakpoint) / (1.0 + y * breakpoint);
+
+            terms[i] = r;
+            squares[i] = r * r;
+            offsets[i] += scales[i] * reductionTable.atanAt(index);
+            double absR = Math.abs(r);
+            if (absR > maxReduced) {
+                maxReduced = absR;
+            }
+        }
+        return maxReduced;
+    }
+
+    private void sumSeriesBlock(
+        double[] out,
+        int outOffset,
+        int count,
+        double[] terms,
+        double[] squares,
+        double maxReduced
+    ) {
+        System.arraycopy(terms, 0, out, outOffset, count);
+
+        // Члены ряда монотонно растут по |r|, поэтому числа членов для максимального r
+        // достаточно для всех элементов блока. Порог - самый строгий из используемых.
+        int seriesTerms = termsToConverge(maxReduced, halfAngleThreshold);
+        recordTerms(seriesTerms + 1, count);
+        double[] ratios = coefficients.ratios();
+        for (int n = 0; n < seriesTerms; n++) {
+            double ratio = ratios[n];
+            for (int i = 0; i < count; i++) {
+                terms[i] *= squares[i] * ratio;
+                out[outOffset + i] += terms[i];
+            }
+        }
+    }
+
+    private int termsToConverge(double absX, double threshold) {
+        double xSquared = absX * absX;
+        double term = absX;
+
+        if (term < threshold) {
+            return 0;
+        }
+
+        double[] ratios = coefficients.ratios();
+        for (int n = 0; n < ratios.length; n++) {
+            term *= xSquared * ratios[n];
+
+            if (Math.abs(term) < threshold) {
+                return n + 1;
+            }
+        }
+
+        record(AtanMetrics.Event.NOT_CONVERGED);
+        throw new IllegalStateException(
+            "Series did not converge for x=" + absX + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
+        );
+    }
+
+    /**
+     * Ряд знакочередующийся с убывающими по модулю членами, поэтому после остановки
+     * ошибка меньше модуля последнего добавленного члена, то есть меньше threshold.
+     */
+    private double atanSeriesDirect(double x, double threshold) {
+        double xSquared = x * x;
+        double term = x;
+        double sum = term;
+
+        if (Math.abs(term) < threshold) {
+            recordTerms(1, 1);
+            return sum;
+        }
+
+        double[] ratios = coefficients.ratios();
+        for (int n = 0; n < ratios.length; n++) {
+            term *= xSquared * ratios[n];
+            sum += term;
+
+            if (Math.abs(term) < threshold) {
+                recordTerms(n + 2, 1);
+                return sum;
+            }
+        }
+
+        record(AtanMetrics.Event.NOT_CONVERGED);
+        throw new IllegalStateException(
+            "Series did not converge for x=" + x + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
+        );
+    }
+
+    /**
+     * offset + scale * arctg(y) для y из [0, 1] в режиме {@link Mode#COMPENSATED}; offset - 0, ±pi/2 или ±pi.
+     *
+     * Приведенный аргумент получается парой r + rLow (остатки деления и корня - через fma),
+     * ряд суммируется от r с поправкой Ноймайера (|частичная сумма| >= |члена|, поэтому
+     * хватает Fast2Sum), а rLow учитывается первым членом разложения: rLow / (1 + r^2).
+     * Члены ряда вычисляются в double: их относительная ошибка растет с номером,
+     * но абсолютная меньше сотой ulp результата.
+     */
+    private double atanOfUnitCompensated(double y, double offset, double scale) {
+        double high = offset;
+        double low = offset == 0.0 ? 0.0 : Math.copySign(Math.abs(offset) == Math.PI ? PI_LOW : HALF_PI_LOW, offset);
+        double threshold = directThreshold;
+        double r = y;
+        double rLow = 0.0;
 
-        if (absX > 1.0) {
-            return Math.copySign(Math.PI / 2.0, x) - atanInternal(1.0 / x);
+        if (reductionTable != null) {
+            record(AtanMetrics.Event.TABLE);
+            int index = reductionTable.index(y);
+            double breakpoint = reductionTable.breakpoint(index);
+            double tableTerm = scale * reductionTable.atanAt(index);
+            high = offset + tableTerm;
+            double tablePart = high - offset;
+            low += (offset - (high - tablePart)) + (tableTerm - tablePart);
+
+            // y - c_k точно (лемма Стербенца), знаменатель 1 + y * c_k - пара double.
+            double numerator = y - breakpoint;
+            double product = y * breakpoint;
+            double denominator = 1.0 + product;
+            double denominatorLow = (1.0 - denominator) + product + Math.fma(y, breakpoint, -product);
+            r = numerator / denominator;
+            rLow = (Math.fma(-r, denominator, numerator) - r * denominatorLow) / denominator;
+        } else if (y > DIRECT_SERIES_LIMIT) {
+            record(AtanMetrics.Event.HALF_ANGLE);
+            // r = y / (1 + sqrt(1 + y^2)) с младшими частями квадрата, суммы и корня.
+            double square = y * y;
+            double radicand = 1.0 + square;
+            double radicandLow = (1.0 - radicand) + square + Math.fma(y, y, -square);
+            double root = Math.sqrt(radicand);
+            double rootLow = (Math.fma(-root, root, radicand) + radicandLow) / (2.0 * root);
+            double denominator = root + 1.0;
+            double denominatorLow = (root - denominator) + 1.0 + rootLow;
+            r = y / denominator;
+            rLow = (Math.fma(-r, denominator, y) - r * denominatorLow) / denominator;
+            scale *= 2.0;
+            threshold = halfAngleThreshold;
+        } else {
+            record(AtanMetrics.Event.DIRECT);
         }
 
-        if (absX > 0.5) {
-            double transformed = x / (1.0 + Math.sqrt(1.0 + x * x));
-            return 2.0 * atanInternal(transformed);
+        double xSquared = r * r;
+        double term = r;
+        double sum = r;
+        double compensation = 0.0;
+        int used = 1;
+
+        double[] ratios = coefficients.ratios();
+        while (Math.abs(term) >= threshold) {
+            if (used > ratios.length) {
+                record(AtanMetrics.Event.NOT_CONVERGED);
+                throw new IllegalStateException(
+                    "Series did not converge for x=" + r + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
+                );
+            }
+            term *= xSquared * ratios[used - 1];
+            double next = sum + term;
+            compensation += (sum - next) + term;
+            sum = next;
+            used++;
         }
+        recordTerms(used, 1);
 
-        return atanSeriesDirect(x);
+        // scale - степень двойки со знаком, поэтому scale * sum точно.
+        double product = scale * sum;
+        double result = high + product;
+        double error = Math.abs(high) >= Math.abs(product)
+            ? (high - result) + product
+            : (product - result) + high;
+        return result + (error + low + scale * (compensation + rLow / (1.0 + xSquared)));
     }
 
-    private double atanSeriesDirect(double x) {
+    /**
+     * Ряд с epsilon-алгоритмом Винна над частичными суммами S_m:
+     * eps[k + 1](m) = eps[k - 1](m + 1) + 1 / (eps[k](m + 1) - eps[k](m)), eps[0](m) = S_m,
+     * оценки - четные столбцы. В diagonal хранится последняя антидиагональ таблицы:
+     * diagonal[k] = eps[k](m - k), так что новая частичная сумма обновляет ее за O(m).
+     */
+    private double atanSeriesAccelerated(double x, double threshold) {
         double xSquared = x * x;
         double term = x;
         double sum = term;
 
-        if (Math.abs(term) < epsilon) {
+        if (Math.abs(term) < threshold) {
+            recordTerms(1, 1);
             return sum;
         }
 
-        for (int n = 1; n < maxTerms; n++) {
-            term *= -xSquared * (2.0 * n - 1.0) / (2.0 * n + 1.0);
+        double[] ratios = coefficients.ratios();
+        double[] diagonal = acceleratedDiagonal.get();
+        diagonal[0] = sum;
+        double estimate = sum;
+        for (int n = 0; n < ratios.length; n++) {
+            term *= xSquared * ratios[n];
             sum += term;
 
-            if (Math.abs(term) < epsilon) {
+            if (Math.abs(term) < threshold) {
+                recordTerms(n + 2, 1);
                 return sum;
             }
+
+            double previousColumn = 0.0;
+            double value = sum;
+            for (int k = 0; k <= n; k++) {
+                double old = diagonal[k];
+                diagonal[k] = value;
+                double difference = value - old;
+                value = difference == 0.0 ? Double.POSITIVE_INFINITY : previousColumn + 1.0 / difference;
+                previousColumn = old;
+            }
+            diagonal[n + 1] = value;
+
+            double previousEstimate = estimate;
+            estimate = diagonal[(n + 1) & ~1];
+            if (!Double.isFinite(estimate)) {
+                // Разности исчезли: таблица вырождается, предыдущая оценка уже на уровне округления.
+                recordTerms(n + 2, 1);
+                return previousEstimate;
+            }
+            if (Math.abs(estimate - previousEstimate) < threshold) {
+                recordTerms(n + 2, 1);
+                return estimate;
+            }
         }
 
+        record(AtanMetrics.Event.NOT_CONVERGED);
         throw new IllegalStateException(
             "Series did not converge for x=" + x + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
         );
     }
+
+    private void record(AtanMetrics.Event event) {
+        if (metrics != null) {
+            metrics.record(event);
+        }
+    }
+
+    private void recordTerms(int terms, long times) {
+        if (metrics != null) {
+            metrics.recordTerms(terms, times);
+        }
+    }
+
+    private void recordArguments(double[] in, int inOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            double absX = Math.abs(in[inOffset + i]);
+            if (Double.isNaN(absX)) {
+                metrics.record(AtanMetrics.Event.NAN);
+            } else if (absX == Double.POSITIVE_INFINITY) {
+                metrics.record(AtanMetrics.Event.INFINITY);
+            } else if (absX == 0.0) {
+                metrics.record(AtanMetrics.Event.ZERO);
+            } else {
+                if (absX > 1.0) {
+                    metrics.record(AtanMetrics.Event.RECIPROCAL);
+                    absX = 1.0 / absX;
+                }
+                if (reductionTable != null) {
+                    metrics.record(AtanMetrics.Event.TABLE);
+                } else if (absX > DIRECT_SERIES_LIMIT) {
+                    metrics.record(AtanMetrics.Event.HALF_ANGLE);
+                } else {
+                    metrics.record(AtanMetrics.Event.DIRECT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Первый шаг пакетного вычисления: для элементов [from, from + count) записывает
+     * в terms, scales и offsets такие t из [0, 1] и множители, что результат равен offset + scale * arctg(t).
+     */
+    @FunctionalInterface
+    private interface UnitReduction {
+        void reduce(int from, int count, double[] terms, double[] scales, double[] offsets);
+    }
+
+    private final class ParallelAtanTask extends RecursiveAction {
+        private final double[] in;
+        private final double[] out;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ParallelAtanTask(double[] in, double[] out, int from, int to, int chunk) {
+            this.in = in;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            int length = to - from;
+            if (length <= chunk) {
+                atanRange(in, from, out, from, length);
+                return;
+            }
+
+            int half = length / 2;
+            int middle = from + half - half % BLOCK_SIZE;
+            invokeAll(
+                new ParallelAtanTask(in, out, from, middle, chunk),
+                new ParallelAtanTask(in, out, middle, to, chunk)
+            );
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package org.example.math;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Кэш предвычисленных таблиц в каталоге на диске, чтобы короткоживущие JVM
+ * не строили их заново при каждом запуске.
+ *
+ * Имя файла составляется из вида таблицы, epsilon, размера и хэша версии алгоритма
+ * построения; заголовок файла повторяет этот ключ и содержит контрольную сумму CRC32
+ * (формат - {@link AtanTableFile}). Файл отображается в память только для чтения;
+ * если его нет или он не прошел проверку, таблица строится заново и перезаписывается.
+ * Ошибки записи не мешают вычислениям: таблица остается в памяти.
+ */
+public final class AtanTableCache {
+    private final Path directory;
+
+    /**
+     * @param directory каталог файлов кэша (создается при первой записи).
+     */
+    public AtanTableCache(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Таблица {@link InterpolatedAtan} для epsilon, отображенная из файла кэша.
+     * Если файл не удалось ни прочитать, ни записать, возвращается {@link InterpolatedAtan#shared(double)}.
+     *
+     * @param epsilon требуемая точность, не меньше {@link InterpolatedAtan#MIN_EPSILON}.
+     */
+    public InterpolatedAtan interpolatedAtan(double epsilon) {
+        try {
+            return InterpolatedAtan.mapped(epsilon, fileFor(AtanTableFile.INTERPOLATION, epsilon, 0));
+        } catch (IOException e) {
+            return InterpolatedAtan.shared(epsilon);
+        }
+    }
+
+    /**
+     * Загружает из файла кэша таблицу приведения аргумента для
+     * {@link AtanSeries#AtanSeries(double, int, AtanSeries.Mode, int)} с теми же epsilon
+     * и reductionTableSize и делает ее общей, так что конструктор больше не строит ее.
+     * Если подходящего файла нет, таблица строится и записывается.
+     *
+     * @param epsilon точность калькулятора.
+     * @param reductionTableSize число отрезков таблицы приведения.
+     * @return true, если таблица загружена из файла (или уже была в памяти), false - если построена.
+     */
+    public boolean preloadReductionTable(double epsilon, int reductionTableSize) {
+        if (epsilon <= 0.0 || Double.isNaN(epsilon) || Double.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("epsilon must be a positive finite number");
+        }
+        if (reductionTableSize <= 0 || reductionTableSize > AtanReductionTable.MAX_SIZE) {
+            throw new IllegalArgumentException("reductionTableSize must be in [1, " + AtanReductionTable.MAX_SIZE + "]");
+        }
+        if (AtanReductionTable.isShared(epsilon, reductionTableSize)) {
+            return true;
+        }
+
+        Path file = fileFor(AtanTableFile.REDUCTION, epsilon, reductionTableSize);
+        double[] values = readReductionValues(file, epsilon, reductionTableSize);
+        if (values != null) {
+            AtanReductionTable.install(epsilon, reductionTableSize, values);
+            return true;
+        }
+
+        AtanReductionTable table = AtanReductionTable.shared(epsilon, reductionTableSize);
+        AtanTableFile.Header header = new AtanTableFile.Header(
+            AtanTableFile.REDUCTION, 0, epsilon, reductionTableSize, reductionTableSize + 1,
+            AtanReductionTable.VERSION_HASH
+        );
+        try {
+            AtanTableFile.write(file, header, table.values());
+        } catch (IOException e) {
+            // Кэш недоступен для записи - таблица остается только в памяти.
+        }
+        return false;
+    }
+
+    /**
+     * @return значения таблицы приведения из файла или null, если файла нет или он не подходит.
+     */
+    static double[] readReductionValues(Path file, double epsilon, int size) {
+        try {
+            AtanTableFile.Mapped mapped = AtanTableFile.map(file);
+            if (mapped == null || !matchesReduction(mapped.header(), epsilon, size)) {
+                return null;
+            }
+            // Значения копируются в массив: обращения к таблице - в самом горячем месте приведения.
+            double[] values = new double[size + 1];
+            mapped.values().get(0, values);
+            return values;
+        } catch (IOException e) {
+            // Нечитаемый файл равносилен отсутствующему: таблица строится заново.
+            return null;
+        }
+    }
+
+    Path fileFor(int kind, double epsilon, int size) {
+        String name = (kind == AtanTableFile.INTERPOLATION ? "interpolation" : "reduction")
+            + "-" + Long.toHexString(Double.doubleToLongBits(epsilon))
+            + "-" + size
+            + "-" + Long.toHexString(kind == AtanTableFile.INTERPOLATION
+                ? InterpolatedAtan.VERSION_HASH
+                : AtanReductionTable.VERSION_HASH)
+            + ".atbl";
+        return directory.resolve(name);
+    }
+
+    private static boolean matchesReduction(AtanTableFile.Header header, double epsilon, int size) {
+        return header.kind() == AtanTableFile.REDUCTION
+            && header.versionHash() == AtanReductionTable.VERSION_HASH
+            && header.epsilon() == epsilon
+            && header.size() == size
+            && header.valueCount() == size + 1;
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.math;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Двоичный формат файлов с предвычисленными таблицами (little-endian).
+ *
+ * Заголовок ({@value #HEADER_BYTES} байт): magic, версия формата, вид таблицы, степень,
+ * epsilon, размер, число значений, хэш версии алгоритма построения и CRC32 заголовка
+ * и значений. Следом идут значения double. Файл читается через отображение в память
+ * только для чтения; при любом несоответствии {@link #map} возвращает null,
+ * и вызывающий код строит таблицу заново.
+ */
+final class AtanTableFile {
+    static final int INTERPOLATION = 1;
+    static final int REDUCTION = 2;
+
+    private static final int MAGIC = 0x4154424c;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 48;
+    private static final int CHECKSUM_OFFSET = 40;
+
+    /**
+     * Ключ и описание таблицы.
+     *
+     * @param kind {@link #INTERPOLATION} или {@link #REDUCTION}.
+     * @param order степень многочлена (для таблиц приведения - 0).
+     * @param epsilon точность, для которой построена таблица.
+     * @param size число отрезков таблицы.
+     * @param valueCount число значений double после заголовка.
+     * @param versionHash хэш версии алгоритма построения.
+     */
+    record Header(int kind, int order, double epsilon, int size, int valueCount, long versionHash) {
+    }
+
+    /**
+     * @param header заголовок, прочитанный из файла.
+     * @param values значения, отображенные в память только для чтения.
+     */
+    record Mapped(Header header, DoubleBuffer values) {
+    }
+
+    private AtanTableFile() {
+    }
+
+    /**
+     * 64-битный FNV-1a от описания алгоритма построения таблицы: при изменении описания
+     * старые файлы перестают подходить и строятся заново.
+     */
+    static long versionHash(String description) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : description.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Записывает таблицу через временный файл и атомарное переименование,
+     * так что читатели видят либо старый файл, либо новый целиком.
+     */
+    static void write(Path file, Header header, DoubleBuffer values) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER_BYTES + header.valueCount() * Double.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putInt(header.kind())
+            .putInt(header.order())
+            .putDouble(header.epsilon())
+            .putInt(header.size())
+            .putInt(header.valueCount())
+            .putLong(header.versionHash())
+            .putLong(0L);
+        for (int i = 0; i < header.valueCount(); i++) {
+            bytes.putDouble(values.get(i));
+        }
+        bytes.putLong(CHECKSUM_OFFSET, checksum(bytes));
+        bytes.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return отображенная таблица или null, если файла нет, он короче заголовка,
+     *         заголовок не соответствует формату или не сходится контрольная сумма.
+     */
+    static Mapped map(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (bytes.getInt(0) != MAGIC || bytes.getInt(4) != FORMAT_VERSION) {
+                return null;
+            }
+
+            Header header = new Header(
+                bytes.getInt(8),
+                bytes.getInt(12),
+                bytes.getDouble(16),
+                bytes.getInt(24),
+                bytes.getInt(28),
+                bytes.getLong(32)
+            );
+            if (header.valueCount() < 0 || size != HEADER_BYTES + (long) header.valueCount() * Double.BYTES
+                || bytes.getLong(CHECKSUM_OFFSET) != checksum(bytes)) {
+                return null;
+            }
+
+            DoubleBuffer values = bytes.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            return new Mapped(header, values);
+        }
+    }
+
+    /**
+     * CRC32 всех байтов, кроме поля самой контрольной суммы.
+     */
+    private static long checksum(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate().position(0).limit(CHECKSUM_OFFSET));
+        crc.update(bytes.duplicate().position(HEADER_BYTES).limit(bytes.capacity()));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,315 @@
+package org.example.math;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Вычисляет arctg(x) с заданным числом значащих десятичных цифр.
+ *
+ * Приведение аргумента то же, что в {@link AtanSeries}: для |x| > 1 - pi/2 - arctg(1 / |x|),
+ * для y > 0.5 - половинный угол. Табличному приведению соответствует разложение по узлам
+ * p / 2^k с удваивающимся k ("bit-burst"): arctg(r) = arctg(p / 2^k) + arctg((r - p / 2^k) / (1 + r * p / 2^k)),
+ * где p / 2^k - первые k бит r, так что после шага остаток меньше 2^-k, а у следующего узла
+ * вдвое больше бит. Ряд для каждого arctg(p / 2^k) суммируется двоичным разбиением (binary splitting)
+ * в целых числах: соседние отрезки ряда объединяются попарно деревом, и основная работа
+ * приходится на несколько умножений больших чисел у корня - O(M(n) log^2 n) для n цифр,
+ * где M(n) - стоимость умножения. BigInteger в JDK 17 умножает не быстрее алгоритма
+ * Тоома-Кука (M(n) ~ n^1.47), поэтому на практике рост ближе к n^1.7.
+ *
+ * Вычисления идут в двоичной фиксированной точке с запасом {@value #GUARD_BITS} бит;
+ * результат округляется до digits значащих цифр (HALF_EVEN), так что ошибка не больше
+ * единицы последнего разряда.
+ */
+public final class BigDecimalAtanSeries {
+    public static final int MAX_DIGITS = 1 << 24;
+
+    private static final int GUARD_BITS = 64;
+    private static final int FIRST_NODE_BITS = 8;
+    /** Поддеревья разбиения меньше этого числа членов считаются в текущем потоке. */
+    private static final int MIN_PARALLEL_TERMS = 256;
+    private static final double BITS_PER_DIGIT = Math.log(10.0) / Math.log(2.0);
+
+    private final int digits;
+    private final MathContext mathContext;
+    private final int workingBits;
+    /** pi/2 в фиксированной точке с workingBits битами; считается при первом обращении. */
+    private volatile BigInteger halfPi;
+
+    /**
+     * @param digits число значащих десятичных цифр результата, от 1 до {@link #MAX_DIGITS}.
+     */
+    public BigDecimalAtanSeries(int digits) {
+        if (digits <= 0 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("digits must be in [1, " + MAX_DIGITS + "]");
+        }
+        this.digits = digits;
+        this.mathContext = new MathContext(digits, RoundingMode.HALF_EVEN);
+        this.workingBits = (int) Math.ceil(digits * BITS_PER_DIGIT) + GUARD_BITS;
+    }
+
+    /**
+     * @param x аргумент функции arctg(x).
+     * @return arctg(x), округленный до {@link #getDigits()} значащих цифр.
+     */
+    public BigDecimal atan(BigDecimal x) {
+        return atan(x, null);
+    }
+
+    /**
+     * arctg от точного значения double; бесконечности дают ±pi/2, а -0.0 - ноль.
+     *
+     * @throws IllegalArgumentException если x - NaN.
+     */
+    public BigDecimal atan(double x) {
+        if (Double.isNaN(x)) {
+            throw new IllegalArgumentException("x must not be NaN");
+        }
+        if (Double.isInfinite(x)) {
+            BigDecimal value = toDecimal(halfPi(null), workingBits);
+            return x > 0.0 ? value : value.negate();
+        }
+        return atan(new BigDecimal(x));
+    }
+
+    /**
+     * Параллельный вариант {@link #atan(BigDecimal)} на общем пуле ForkJoin.
+     */
+    public BigDecimal parallelAtan(BigDecimal x) {
+        return parallelAtan(x, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельный вариант {@link #atan(BigDecimal)}: поддеревья двоичного разбиения,
+     * начиная с {@value #MIN_PARALLEL_TERMS} членов, считаются задачами пула. При сотнях цифр
+     * таких поддеревьев почти нет, а умножения у корня дерева всегда последовательные,
+     * так что смысл имеет от нескольких тысяч цифр. Результат совпадает с последовательным вызовом.
+     *
+     * @param x аргумент функции arctg(x).
+     * @param pool пул, в котором выполняются вычисления.
+     */
+    public BigDecimal parallelAtan(BigDecimal x, ForkJoinPool pool) {
+        return atan(x, Objects.requireNonNull(pool, "pool"));
+    }
+
+    /**
+     * @return число значащих десятичных цифр результата.
+     */
+    public int getDigits() {
+        return digits;
+    }
+
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+
+    private BigDecimal atan(BigDecimal x, ForkJoinPool pool) {
+        int signum = x.signum();
+        if (signum == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        // |x| < 10^(exponent + 1).
+        long exponent = (long) x.precision() - x.scale() - 1;
+        if (2 * exponent + 2 <= -(digits + 1L)) {
+            // arctg(x) = x (1 - x^2 / 3 + ...), а x^2 < 10^-(digits + 1): поправка меньше
+            // десятой доли последнего разряда, и округленный x уже ответ. Без этой ветки
+            // число рабочих бит росло бы с порядком x, а не с digits.
+            return x.round(mathContext);
+        }
+
+        BigDecimal absX = x.abs();
+        boolean reciprocal = absX.compareTo(BigDecimal.ONE) > 0;
+        int bits = workingBits;
+        if (!reciprocal) {
+            // arctg(y) порядка y, поэтому при малых y бит нужно больше на log2(1 / y).
+            if (exponent < 0) {
+                bits = Math.toIntExact(bits + (long) Math.ceil(-exponent * BITS_PER_DIGIT));
+            }
+        }
+
+        BigInteger one = BigInteger.ONE.shiftLeft(bits);
+        BigInteger y = reciprocal ? fixedReciprocal(absX, bits) : fixed(absX, bits);
+        boolean halfAngle = y.compareTo(one.shiftRight(1)) > 0;
+        if (halfAngle) {
+            BigInteger root = sqrt(one.shiftLeft(bits).add(y.multiply(y)));
+            y = y.shiftLeft(bits).divide(one.add(root));
+        }
+
+        BigInteger result = atanOfReduced(y, bits, pool);
+        if (halfAngle) {
+            result = result.shiftLeft(1);
+        }
+        if (reciprocal) {
+            result = halfPi(pool).subtract(result);
+        }
+
+        BigDecimal value = toDecimal(result, bits);
+        return signum < 0 ? value.negate() : value;
+    }
+
+    /**
+     * pi/2 = 2 arctg(1) = 4 arctg(1 / (1 + sqrt(2))) тем же путем, что и остальные аргументы.
+     * При одновременном первом обращении значение может посчитаться дважды, результат одинаков.
+     */
+    private BigInteger halfPi(ForkJoinPool pool) {
+        BigInteger value = halfPi;
+        if (value == null) {
+            BigInteger one = BigInteger.ONE.shiftLeft(workingBits);
+            BigInteger root = sqrt(one.shiftLeft(workingBits + 1));
+            BigInteger reduced = one.shiftLeft(workingBits).divide(one.add(root));
+            value = atanOfReduced(reduced, workingBits, pool).shiftLeft(2);
+            halfPi = value;
+        }
+        return value;
+    }
+
+    /**
+     * arctg(r) для r из [0, 0.5] в фиксированной точке: узлы p / 2^k с k = 8, 16, 32, ...,
+     * пока остаток не станет меньше 2^(-bits / 3), когда arctg(остаток) = остаток с нужной точностью.
+     */
+    private static BigInteger atanOfReduced(BigInteger r, int bits, ForkJoinPool pool) {
+        BigInteger one = BigInteger.ONE.shiftLeft(bits);
+        BigInteger tail = BigInteger.ONE.shiftLeft(bits - bits / 3);
+        BigInteger sum = BigInteger.ZERO;
+        BigInteger residual = r;
+
+        for (int k = FIRST_NODE_BITS; residual.compareTo(tail) >= 0; k = Math.min(2 * k, bits)) {
+            BigInteger p = residual.shiftRight(bits - k);
+            if (p.signum() == 0) {
+                continue;
+            }
+            BigInteger numerator = residual.subtract(p.shiftLeft(bits - k));
+            BigInteger denominator = one.add(residual.multiply(p).shiftRight(k));
+            residual = numerator.shiftLeft(bits).divide(denominator);
+            sum = sum.add(series(p, k, bits, pool));
+        }
+        return sum.add(residual);
+    }
+
+    /**
+     * arctg(p / 2^k) для 0 < p / 2^k <= 1/2 в фиксированной точке с bits битами после запятой.
+     */
+    private static BigInteger series(BigInteger p, int k, int bits, ForkJoinPool pool) {
+        // |член n| = (p / 2^k)^(2n + 1) / (2n + 1) < 2^-bits.
+        double log2Ratio = k - log2(p);
+        int terms = (int) Math.ceil(bits / (2.0 * log2Ratio)) + 1;
+
+        BigInteger pSquared = p.multiply(p).negate();
+        Splitting total = pool != null && terms >= 2 * MIN_PARALLEL_TERMS
+            ? pool.invoke(new SplittingTask(p, pSquared, k, 0, terms))
+            : split(p, pSquared, k, 0, terms);
+        return total.t().shiftLeft(Math.toIntExact(bits - total.qBits())).divide(total.b());
+    }
+
+    /**
+     * Двоичное разбиение ряда sum_j 1 / (2j + 1) * p(0) ... p(j) / (q(0) ... q(j)) на отрезке [from, to),
+     * где p(0) = p, q(0) = 2^k, p(j) = -p^2, q(j) = 2^(2k): знаменатели - степени двойки,
+     * и умножения на них заменяются сдвигами.
+     */
+    private static Splitting split(BigInteger p, BigInteger pSquared, int k, int from, int to) {
+        if (to - from == 1) {
+            BigInteger pj = from == 0 ? p : pSquared;
+            return new Splitting(pj, from == 0 ? k : 2L * k, BigInteger.valueOf(2L * from + 1), pj);
+        }
+        int middle = (from + to) >>> 1;
+        return split(p, pSquared, k, from, middle).combine(split(p, pSquared, k, middle, to));
+    }
+
+    /**
+     * floor(sqrt(value)): корень из старшей половины бит и один шаг Ньютона, удваивающий
+     * точность. BigInteger.sqrt в JDK 17 на тысячах цифр медленнее всего остального вычисления.
+     */
+    private static BigInteger sqrt(BigInteger value) {
+        int length = value.bitLength();
+        if (length <= 128) {
+            return value.sqrt();
+        }
+        int shift = length / 4;
+        BigInteger root = sqrt(value.shiftRight(2 * shift)).shiftLeft(shift);
+        // После шага Ньютона корень не меньше точного, остается поправить на единицы.
+        root = root.add(value.divide(root)).shiftRight(1);
+        while (root.multiply(root).compareTo(value) > 0) {
+            root = root.subtract(BigInteger.ONE);
+        }
+        return root;
+    }
+
+    private static double log2(BigInteger value) {
+        int shift = Math.max(0, value.bitLength() - 53);
+        return shift + Math.log(value.shiftRight(shift).doubleValue()) / Math.log(2.0);
+    }
+
+    /**
+     * floor(x * 2^bits) для x > 0.
+     */
+    private static BigInteger fixed(BigDecimal x, int bits) {
+        BigInteger unscaled = x.unscaledValue();
+        int scale = x.scale();
+        return scale >= 0
+            ? unscaled.shiftLeft(bits).divide(BigInteger.TEN.pow(scale))
+            : unscaled.multiply(BigInteger.TEN.pow(-scale)).shiftLeft(bits);
+    }
+
+    /**
+     * floor(2^bits / x) для x > 0.
+     */
+    private static BigInteger fixedReciprocal(BigDecimal x, int bits) {
+        BigInteger unscaled = x.unscaledValue();
+        int scale = x.scale();
+        return scale >= 0
+            ? BigInteger.TEN.pow(scale).shiftLeft(bits).divide(unscaled)
+            : BigInteger.ONE.shiftLeft(bits).divide(unscaled.multiply(BigInteger.TEN.pow(-scale)));
+    }
+
+    private BigDecimal toDecimal(BigInteger value, int bits) {
+        return new BigDecimal(value).divide(new BigDecimal(BigInteger.ONE.shiftLeft(bits)), mathContext);
+    }
+
+    /**
+     * Для отрезка ряда: произведение P множителей p(j), Q = 2^qBits - произведение q(j),
+     * B - произведение знаменателей 2j + 1 и T = B * Q * (частичная сумма ряда на отрезке).
+     */
+    private record Splitting(BigInteger p, long qBits, BigInteger b, BigInteger t) {
+        Splitting combine(Splitting right) {
+            return new Splitting(
+                p.multiply(right.p),
+                qBits + right.qBits,
+                b.multiply(right.b),
+                right.b.multiply(t).shiftLeft(Math.toIntExact(right.qBits)).add(b.multiply(p).multiply(right.t))
+            );
+        }
+    }
+
+    private static final class SplittingTask extends RecursiveTask<Splitting> {
+        private final BigInteger p;
+        private final BigInteger pSquared;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        SplittingTask(BigInteger p, BigInteger pSquared, int k, int from, int to) {
+            this.p = p;
+            this.pSquared = pSquared;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Splitting compute() {
+            if (to - from < 2 * MIN_PARALLEL_TERMS) {
+                return split(p, pSquared, k, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SplittingTask left = new SplittingTask(p, pSquared, k, from, middle);
+            left.fork();
+            Splitting right = new SplittingTask(p, pSquared, k, middle, to).compute();
+            return left.join().combine(right);
+        }
+    }
+}
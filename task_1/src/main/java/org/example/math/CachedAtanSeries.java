@@ -0,0 +1,158 @@
+package org.example.math;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэширующая обертка над {@link AtanSeries} для нагрузок с повторяющимися аргументами.
+ *
+ * Результаты хранятся в таблице с открытой адресацией по битам аргумента (long -> double)
+ * в массиве примитивов: таблица разбита на корзины по {@value #WAYS} ячейки,
+ * при заполненной корзине вытесняется ячейка по алгоритму "часов" (второй шанс).
+ *
+ * Каждая ячейка защищена счетчиком версий (seqlock): читатели не блокируются и
+ * не видят "разорванных" пар ключ-значение, а писатель, не захвативший ячейку,
+ * просто не кэширует результат. Поиск и вставка не выделяют память.
+ */
+public final class CachedAtanSeries {
+    static final int WAYS = 4;
+    public static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int STRIDE = 3;
+    private static final int VERSION = 0;
+    private static final int KEY = 1;
+    private static final int VALUE = 2;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final AtanSeries delegate;
+    private final int bucketMask;
+    private final long[] slots;
+    private final byte[] referenced;
+    private final byte[] hands;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate калькулятор, результаты которого кэшируются.
+     * @param capacity минимальное число кэшируемых значений (округляется вверх до степени двойки).
+     */
+    public CachedAtanSeries(AtanSeries delegate, int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in [1, " + MAX_CAPACITY + "]");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS) * 2 - 1);
+        this.bucketMask = buckets - 1;
+        this.slots = new long[buckets * WAYS * STRIDE];
+        this.referenced = new byte[buckets * WAYS];
+        this.hands = new byte[buckets];
+    }
+
+    /**
+     * @param x аргумент функции arctg(x).
+     * @return то же значение, что и {@link AtanSeries#atan(double)} обернутого калькулятора.
+     */
+    public double atan(double x) {
+        long key = Double.doubleToRawLongBits(x);
+        int firstSlot = bucketOf(key) * WAYS;
+
+        for (int slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+            int base = slot * STRIDE;
+            long version = (long) SLOTS.getAcquire(slots, base + VERSION);
+            if (version == 0 || (version & 1) != 0) {
+                continue;
+            }
+            long storedKey = (long) SLOTS.getOpaque(slots, base + KEY);
+            long storedValue = (long) SLOTS.getOpaque(slots, base + VALUE);
+            VarHandle.loadLoadFence();
+            if (storedKey == key && (long) SLOTS.getOpaque(slots, base + VERSION) == version) {
+                if (referenced[slot] == 0) {
+                    referenced[slot] = 1;
+                }
+                hits.increment();
+                return Double.longBitsToDouble(storedValue);
+            }
+        }
+
+        misses.increment();
+        double result = delegate.atan(x);
+        store(firstSlot, key, Double.doubleToRawLongBits(result));
+        return result;
+    }
+
+    public AtanSeries getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return число ячеек таблицы.
+     */
+    public int capacity() {
+        return referenced.length;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private int bucketOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & bucketMask;
+    }
+
+    private void store(int firstSlot, long key, long value) {
+        int slot = chooseSlot(firstSlot);
+        int base = slot * STRIDE;
+
+        long version = (long) SLOTS.getVolatile(slots, base + VERSION);
+        if ((version & 1) != 0 || !SLOTS.compareAndSet(slots, base + VERSION, version, version + 1)) {
+            return;
+        }
+        if (version != 0) {
+            evictions.increment();
+        }
+        SLOTS.setOpaque(slots, base + KEY, key);
+        SLOTS.setOpaque(slots, base + VALUE, value);
+        referenced[slot] = 1;
+        SLOTS.setRelease(slots, base + VERSION, version + 2);
+    }
+
+    /**
+     * Свободная ячейка корзины, а если ее нет - первая ячейка без признака обращения,
+     * начиная со стрелки "часов"; признаки пройденных ячеек сбрасываются.
+     * Гонки между писателями здесь безопасны: они влияют только на выбор жертвы.
+     */
+    private int chooseSlot(int firstSlot) {
+        for (int slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+            if ((long) SLOTS.getOpaque(slots, slot * STRIDE + VERSION) == 0) {
+                return slot;
+            }
+        }
+
+        int bucket = firstSlot / WAYS;
+        int hand = hands[bucket];
+        for (int step = 0; step < 2 * WAYS; step++) {
+            int slot = firstSlot + hand;
+            hand = (hand + 1) % WAYS;
+            if (referenced[slot] == 0) {
+                hands[bucket] = (byte) hand;
+                return slot;
+            }
+            referenced[slot] = 0;
+        }
+        hands[bucket] = (byte) hand;
+        return firstSlot + hand;
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.math;
+
+import java.util.Objects;
+
+/**
+ * Вариант {@link AtanSeries} одинарной точности.
+ *
+ * Использует то же приведение аргумента ({@link AtanReduction}: 1 / x, затем таблица узлов
+ * или половинный угол; само приведение считается в double), тот же бюджет ошибки и общие
+ * кэши коэффициентов и таблиц, но ряд суммирует во float: членов нужно меньше, а в пакетном
+ * режиме в векторный регистр помещается вдвое больше элементов.
+ */
+public final class FloatAtanSeries {
+    private static final float HALF_PI = (float) (Math.PI / 2.0);
+    private static final float ROUNDING_ALLOWANCE = 8.0f * Math.ulp(1.0f);
+    private static final int BLOCK_SIZE = 256;
+
+    private final float epsilon;
+    private final int maxTerms;
+    private final float directThreshold;
+    private final float halfAngleThreshold;
+    private final AtanReductionTable reductionTable;
+    private final AtanReduction reduction;
+    private final float[] ratios;
+
+    /**
+     * Создает калькулятор с параметрами по умолчанию.
+     * epsilon = 1e-6, maxTerms = 1000.
+     */
+    public FloatAtanSeries() {
+        this(1e-6f, 1000);
+    }
+
+    /**
+     * @param epsilon требуемая точность (не лучше нескольких ulp float, около 1e-7).
+     * @param maxTerms максимум членов ряда, который разрешено использовать.
+     */
+    public FloatAtanSeries(float epsilon, int maxTerms) {
+        this(epsilon, maxTerms, 0);
+    }
+
+    /**
+     * @param epsilon требуемая точность (не лучше нескольких ulp float, около 1e-7).
+     * @param maxTerms максимум членов ряда, который разрешено использовать.
+     * @param reductionTableSize число отрезков таблицы приведения на [0, 1] или 0 - без таблицы,
+     *                           как в {@link AtanSeries#AtanSeries(double, int, AtanSeries.Mode, int)}.
+     */
+    public FloatAtanSeries(float epsilon, int maxTerms, int reductionTableSize) {
+        if (epsilon <= 0.0f || Float.isNaN(epsilon) || Float.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("epsilon must be a positive finite number");
+        }
+        if (maxTerms <= 0) {
+            throw new IllegalArgumentException("maxTerms must be greater than 0");
+        }
+        if (reductionTableSize < 0 || reductionTableSize > AtanReductionTable.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "reductionTableSize must be in [0, " + AtanReductionTable.MAX_SIZE + "]"
+            );
+        }
+        this.epsilon = epsilon;
+        this.maxTerms = maxTerms;
+        this.reductionTable = reductionTableSize == 0
+            ? null
+            : AtanReductionTable.shared(epsilon, reductionTableSize);
+
+        float tableError = reductionTable == null ? 0.0f : (float) AtanReductionTable.errorFor(epsilon);
+        float seriesBudget = Math.max(epsilon - tableError - ROUNDING_ALLOWANCE, epsilon / 4.0f);
+        this.directThreshold = seriesBudget;
+        this.halfAngleThreshold = reductionTable == null ? seriesBudget / 2.0f : seriesBudget;
+        this.reduction = new AtanReduction(reductionTable, directThreshold, halfAngleThreshold);
+
+        double[] doubleRatios = AtanCoefficients.shared(halfAngleThreshold, maxTerms).ratios();
+        this.ratios = new float[doubleRatios.length];
+        for (int n = 0; n < doubleRatios.length; n++) {
+            ratios[n] = (float) doubleRatios[n];
+        }
+    }
+
+    /**
+     * @param x аргумент функции arctg(x).
+     * @return приближенное значение arctg(x).
+     */
+    public float atan(float x) {
+        if (Float.isNaN(x)) {
+            return Float.NaN;
+        }
+        if (Float.isInfinite(x)) {
+            return Math.copySign(HALF_PI, x);
+        }
+        if (x == 0.0f) {
+            return x;
+        }
+
+        AtanReduction.Reduced reduced = reduction.reduce(Math.abs(x));
+        float sum = series((float) reduced.argument(), (float) reduced.threshold());
+        return Math.copySign((float) reduced.offset() + (float) reduced.scale() * sum, x);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(float)}: out[i] = arctg(in[i]).
+     */
+    public void atan(float[] in, float[] out) {
+        atan(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(float)} для подмассивов, устроенный как
+     * {@link AtanSeries#atan(double[], int, double[], int, int)}.
+     */
+    public void atan(float[] in, int inOffset, float[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(inOffset, length, in.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        int blockSize = Math.min(length, BLOCK_SIZE);
+        float[] terms = new float[blockSize];
+        float[] squares = new float[blockSize];
+        float[] scales = new float[blockSize];
+        float[] offsets = new float[blockSize];
+
+        for (int done = 0; done < length; done += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, length - done);
+            atanBlock(in, inOffset + done, out, outOffset + done, count, terms, squares, scales, offsets);
+        }
+    }
+
+    public float getEpsilon() {
+        return epsilon;
+    }
+
+    public int getMaxTerms() {
+        return maxTerms;
+    }
+
+    /**
+     * @return число отрезков таблицы приведения или 0, если таблица не используется.
+     */
+    public int getReductionTableSize() {
+        return reductionTable == null ? 0 : reductionTable.size();
+    }
+
+    private void atanBlock(
+        float[] in,
+        int inOffset,
+        float[] out,
+        int outOffset,
+        int count,
+        float[] terms,
+        float[] squares,
+        float[] scales,
+        float[] offsets
+    ) {
+        float maxReduced = 0.0f;
+        for (int i = 0; i < count; i++) {
+            float x = in[inOffset + i];
+            float sign = Math.copySign(1.0f, x);
+            // 0, бесконечности и NaN проходят приведение без особых случаев: 0, ±pi/2 и NaN.
+            AtanReduction.Reduced reduced = reduction.reduce(Math.abs(x));
+            float r = (float) reduced.argument();
+
+            terms[i] = r;
+            squares[i] = r * r;
+            scales[i] = sign * (float) reduced.scale();
+            offsets[i] = sign * (float) reduced.offset();
+            // Сравнение, а не Math.max: NaN не должен попасть в оценку числа членов.
+            float absR = Math.abs(r);
+            if (absR > maxReduced) {
+                maxReduced = absR;
+            }
+        }
+
+        System.arraycopy(terms, 0, out, outOffset, count);
+        int seriesTerms = termsToConverge(maxReduced);
+        for (int n = 0; n < seriesTerms; n++) {
+            float ratio = ratios[n];
+            for (int i = 0; i < count; i++) {
+                terms[i] *= squares[i] * ratio;
+                out[outOffset + i] += terms[i];
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            out[outOffset + i] = offsets[i] + scales[i] * out[outOffset + i];
+        }
+    }
+
+    private int termsToConverge(float absX) {
+        float xSquared = absX * absX;
+        float term = absX;
+
+        if (term < halfAngleThreshold) {
+            return 0;
+        }
+        for (int n = 0; n < ratios.length; n++) {
+            term *= xSquared * ratios[n];
+            if (Math.abs(term) < halfAngleThreshold) {
+                return n + 1;
+            }
+        }
+        throw notConverged(absX);
+    }
+
+    private float series(float x, float threshold) {
+        float xSquared = x * x;
+        float term = x;
+        float sum = term;
+
+        if (Math.abs(term) < threshold) {
+            return sum;
+        }
+        for (int n = 0; n < ratios.length; n++) {
+            term *= xSquared * ratios[n];
+            sum += term;
+            if (Math.abs(term) < threshold) {
+                return sum;
+            }
+        }
+        throw notConverged(x);
+    }
+
+    private IllegalStateException notConverged(float x) {
+        return new IllegalStateException(
+            "Series did not converge for x=" + x + " with epsilon=" + epsilon + " and maxTerms=" + maxTerms
+        );
+    }
+}
@@ -0,0 +1,266 @@
+package org.example.math;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Быстрое приближенное вычисление arctg(x) интерполяцией по таблице.
+ *
+ * Аргумент приводится к y из [0, 1] (для |x| > 1 - через pi/2 - arctg(1 / |x|)),
+ * отрезок [0, 1] делится на n равных частей, и на каждой части arctg заменяется
+ * многочленом от локальной переменной u из [0, 1]: линейным или кубическим эрмитовым
+ * (по значениям и производным 1 / (1 + y^2) в концах). Значения в узлах считаются
+ * рядом {@link AtanSeries} при построении, вычисление - один индекс и схема Горнера.
+ *
+ * Число частей и степень выбираются по epsilon из оценок остатка интерполяции:
+ * h^2 / 8 * max|f''| для линейной и h^4 / 384 * max|f''''| для кубической.
+ * Линейная используется, пока ее таблица помещается в {@value #MAX_LINEAR_INTERVALS} отрезков.
+ *
+ * Таблицы неизменяемы, разделяются между пользователями с одинаковым epsilon
+ * через ограниченный LRU-кэш, как {@link AtanReductionTable}, и могут храниться в файле,
+ * который затем отображается в память.
+ */
+public final class InterpolatedAtan {
+    public static final double MIN_EPSILON = 1e-13;
+    static final int MAX_LINEAR_INTERVALS = 2048;
+    static final int MAX_CACHED = 64;
+
+    private static final double HALF_PI = Math.PI / 2.0;
+    /** max |arctg''| на [0, 1] = 3 * sqrt(3) / 8, достигается при y = 1 / sqrt(3). */
+    private static final double MAX_SECOND_DERIVATIVE = 0.6496;
+    /**
+     * max |arctg''''| на [0, 1] (arctg''''(y) = 24y(1 - y^2) / (1 + y^2)^4) = 4.66856...,
+     * достигается при y = tg(pi / 10); округлено вверх.
+     */
+    private static final double MAX_FOURTH_DERIVATIVE = 4.67;
+    /** Меняется вместе с любым изменением построения таблицы; старые файлы тогда строятся заново. */
+    static final long VERSION_HASH = AtanTableFile.versionHash(
+        "InterpolatedAtan: linear/hermite, nodes k/n, values AtanSeries(epsilon/8), bounds "
+            + MAX_SECOND_DERIVATIVE + "/" + MAX_FOURTH_DERIVATIVE + "/" + MAX_LINEAR_INTERVALS
+    );
+
+    private static final Map<Double, InterpolatedAtan> SHARED = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Double, InterpolatedAtan> eldest) {
+                return size() > MAX_CACHED;
+            }
+        }
+    );
+
+    private final double epsilon;
+    private final int intervals;
+    private final int order;
+    private final DoubleBuffer coefficients;
+
+    private InterpolatedAtan(double epsilon, int intervals, int order, DoubleBuffer coefficients) {
+        this.epsilon = epsilon;
+        this.intervals = intervals;
+        this.order = order;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * @param epsilon требуемая точность, не меньше {@link #MIN_EPSILON}.
+     * @return общая для всех пользователей с тем же epsilon таблица (строится при первом обращении
+     *         и после вытеснения из кэша).
+     */
+    public static InterpolatedAtan shared(double epsilon) {
+        validateEpsilon(epsilon);
+        return SHARED.computeIfAbsent(epsilon, InterpolatedAtan::build);
+    }
+
+    static int cachedCount() {
+        return SHARED.size();
+    }
+
+    /**
+     * Таблица, отображенная в память из cacheFile. Если файла нет, он поврежден (не сходится
+     * контрольная сумма), построен для другого epsilon или другой версией алгоритма,
+     * таблица строится заново и записывается в cacheFile (через временный файл
+     * и переименование, так что другие процессы не увидят недописанный файл).
+     *
+     * @param epsilon требуемая точность, не меньше {@link #MIN_EPSILON}.
+     * @param cacheFile файл таблицы.
+     * @return таблица, значения которой читаются из отображенного файла.
+     */
+    public static InterpolatedAtan mapped(double epsilon, Path cacheFile) throws IOException {
+        validateEpsilon(epsilon);
+        InterpolatedAtan cached = tryMap(cacheFile);
+        if (cached != null && cached.epsilon == epsilon) {
+            return cached;
+        }
+
+        shared(epsilon).writeTo(cacheFile);
+        return map(cacheFile);
+    }
+
+    /**
+     * Отображает в память таблицу, ранее записанную {@link #writeTo(Path)}.
+     *
+     * @throws IOException если файл не является неповрежденной таблицей этого формата и версии.
+     */
+    public static InterpolatedAtan map(Path file) throws IOException {
+        InterpolatedAtan table = tryMap(file);
+        if (table == null) {
+            throw new IOException("Not a valid interpolation table: " + file);
+        }
+        return table;
+    }
+
+    /**
+     * @return отображенная таблица или null, если файл отсутствует или не подходит.
+     */
+    private static InterpolatedAtan tryMap(Path file) throws IOException {
+        AtanTableFile.Mapped mapped = AtanTableFile.map(file);
+        if (mapped == null) {
+            return null;
+        }
+
+        AtanTableFile.Header header = mapped.header();
+        int order = header.order();
+        if (header.kind() != AtanTableFile.INTERPOLATION || header.versionHash() != VERSION_HASH
+            || !(header.epsilon() >= MIN_EPSILON) || header.size() <= 0 || (order != 1 && order != 3)
+            || header.valueCount() != (long) header.size() * (order + 1)) {
+            return null;
+        }
+        return new InterpolatedAtan(header.epsilon(), header.size(), order, mapped.values());
+    }
+
+    /**
+     * Записывает таблицу в file в формате, который читает {@link #map(Path)}.
+     */
+    public void writeTo(Path file) throws IOException {
+        AtanTableFile.Header header = new AtanTableFile.Header(
+            AtanTableFile.INTERPOLATION, order, epsilon, intervals, coefficients.capacity(), VERSION_HASH
+        );
+        AtanTableFile.write(file, header, coefficients);
+    }
+
+    /**
+     * @param x аргумент функции arctg(x).
+     * @return приближенное значение arctg(x) с точностью epsilon.
+     */
+    public double atan(double x) {
+        double y = Math.abs(x);
+        boolean reciprocal = y > 1.0;
+        if (reciprocal) {
+            y = 1.0 / y;
+        }
+
+        double t = y * intervals;
+        // NaN дает индекс 0 и проходит до результата.
+        int index = Math.min((int) t, intervals - 1);
+        double u = t - index;
+        double value = order == 1
+            ? evaluateLinear(index, u)
+            : evaluateCubic(index, u);
+
+        return Math.copySign(reciprocal ? HALF_PI - value : value, x);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(double)}: out[i] = arctg(in[i]).
+     */
+    public void atan(double[] in, double[] out) {
+        atan(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * Пакетный вариант {@link #atan(double)} для подмассивов.
+     */
+    public void atan(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(inOffset, length, in.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = atan(in[inOffset + i]);
+        }
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * @return число отрезков таблицы на [0, 1].
+     */
+    public int getIntervals() {
+        return intervals;
+    }
+
+    /**
+     * @return степень интерполяционного многочлена: 1 или 3.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * @return true, если значения таблицы читаются из отображенного в память файла.
+     */
+    public boolean isMapped() {
+        return coefficients.isDirect();
+    }
+
+    private double evaluateLinear(int index, double u) {
+        int base = 2 * index;
+        return coefficients.get(base) + u * coefficients.get(base + 1);
+    }
+
+    private double evaluateCubic(int index, double u) {
+        int base = 4 * index;
+        return coefficients.get(base)
+            + u * (coefficients.get(base + 1) + u * (coefficients.get(base + 2) + u * coefficients.get(base + 3)));
+    }
+
+    private static void validateEpsilon(double epsilon) {
+        if (!(epsilon >= MIN_EPSILON) || Double.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("epsilon must be a finite number not less than " + MIN_EPSILON);
+        }
+    }
+
+    private static InterpolatedAtan build(double epsilon) {
+        // Половина epsilon - на остаток интерполяции, восьмая часть - на ошибку значений в узлах,
+        // остальное - запас на округления при вычислении многочлена.
+        double interpolationBudget = epsilon / 2.0;
+        int linearIntervals = (int) Math.ceil(Math.sqrt(MAX_SECOND_DERIVATIVE / (8.0 * interpolationBudget)));
+        int order = linearIntervals <= MAX_LINEAR_INTERVALS ? 1 : 3;
+        int intervals = order == 1
+            ? linearIntervals
+            : (int) Math.ceil(Math.pow(MAX_FOURTH_DERIVATIVE / (384.0 * interpolationBudget), 0.25));
+
+        AtanSeries reference = new AtanSeries(epsilon / 8.0, 100_000);
+        double[] values = new double[intervals + 1];
+        for (int k = 0; k <= intervals; k++) {
+            values[k] = reference.atan((double) k / intervals);
+        }
+
+        double h = 1.0 / intervals;
+        double[] coefficients = new double[intervals * (order + 1)];
+        for (int k = 0; k < intervals; k++) {
+            double f0 = values[k];
+            double f1 = values[k + 1];
+            if (order == 1) {
+                coefficients[2 * k] = f0;
+                coefficients[2 * k + 1] = f1 - f0;
+            } else {
+                // Эрмитов многочлен в локальной переменной u = (y - c_k) / h.
+                double y0 = (double) k / intervals;
+                double y1 = (double) (k + 1) / intervals;
+                double d0 = h / (1.0 + y0 * y0);
+                double d1 = h / (1.0 + y1 * y1);
+                coefficients[4 * k] = f0;
+                coefficients[4 * k + 1] = d0;
+                coefficients[4 * k + 2] = 3.0 * (f1 - f0) - 2.0 * d0 - d1;
+                coefficients[4 * k + 3] = 2.0 * (f0 - f1) + d0 + d1;
+            }
+        }
+        return new InterpolatedAtan(epsilon, intervals, order, DoubleBuffer.wrap(coefficients).asReadOnlyBuffer());
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtanBatchingServiceTest {
+    private final AtanSeries atanSeries = new AtanSeries();
+
+    @Test
+    void concurrentCallersGetCorrectResults() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (AtanBatchingService service = new AtanBatchingService(atanSeries, 128, 50)) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                int thread = t;
+                done.add(callers.submit(() -> {
+                    List<CompletableFuture<Double>> futures = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        futures.add(service.submit(argument(thread, i)));
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        assertEquals(atanSeries.atan(argument(thread, i)), futures.get(i).join(), 1e-12);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(8000, service.completedCount());
+            assertTrue(service.batchCount() <= service.completedCount());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void fillsBatchesUpToMaxBatchSize() {
+        try (AtanBatchingService service = new AtanBatchingService(atanSeries, 10, 1_000_000)) {
+            List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(service.submit(i * 0.1));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Math.atan(i * 0.1), futures.get(i).join(), 1e-12);
+            }
+            assertEquals(10, service.batchCount());
+        }
+    }
+
+    @Test
+    void singleRequestDoesNotWaitLongerThanMaxWait() {
+        try (AtanBatchingService service = new AtanBatchingService(atanSeries, 1024, 0)) {
+            assertEquals(Math.atan(0.5), service.submit(0.5).orTimeout(5, TimeUnit.SECONDS).join(), 1e-12);
+            assertEquals(1, service.batchCount());
+        }
+    }
+
+    @Test
+    void failureIsIsolatedToItsRequest() {
+        AtanSeries limited = new AtanSeries(1e-12, 2);
+        try (AtanBatchingService service = new AtanBatchingService(limited, 64, 1_000_000)) {
+            CompletableFuture<Double> tiny = service.submit(1e-20);
+            CompletableFuture<Double> failing = service.submit(0.9);
+            CompletableFuture<Double> nan = service.submit(Double.NaN);
+
+            assertEquals(1e-20, tiny.join(), 0.0);
+            assertTrue(nan.join().isNaN());
+            ExecutionException error = assertThrows(ExecutionException.class, failing::get);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void errorInKernelFailsPendingRequestsAndClosesService() {
+        CountDownLatch start = new CountDownLatch(1);
+        AtanBatchingService service = new AtanBatchingService(
+            atanSeries,
+            (in, out, count) -> {
+                throw new AssertionError("kernel crashed");
+            },
+            4,
+            0,
+            64,
+            runnable -> {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    runnable.run();
+                });
+                thread.setUncaughtExceptionHandler((t, e) -> { });
+                return thread;
+            }
+        );
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.submit(i));
+        }
+        start.countDown();
+
+        for (CompletableFuture<Double> future : futures) {
+            ExecutionException error = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(AssertionError.class, error.getCause());
+        }
+        service.close();
+        ExecutionException error = assertThrows(ExecutionException.class, () -> service.submit(1.0).get());
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+
+    @Test
+    void closeCompletesAcceptedRequestsAndRejectsNewOnes() {
+        AtanBatchingService service = new AtanBatchingService(atanSeries, 8, 1_000_000);
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(service.submit(i));
+        }
+
+        service.close();
+
+        for (CompletableFuture<Double> future : futures) {
+            assertTrue(future.isDone());
+        }
+        ExecutionException error = assertThrows(ExecutionException.class, () -> service.submit(1.0).get());
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        service.close();
+    }
+
+    @Test
+    void rejectsRequestsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtanBatchingService service = new AtanBatchingService(atanSeries, 8, 0, 2, runnable -> new Thread(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runnable.run();
+        }));
+
+        CompletableFuture<Double> first = service.submit(1.0);
+        CompletableFuture<Double> second = service.submit(2.0);
+        CompletableFuture<Double> third = service.submit(3.0);
+        start.countDown();
+
+        assertEquals(Math.atan(1.0), first.join(), 1e-12);
+        assertEquals(Math.atan(2.0), second.join(), 1e-12);
+        ExecutionException error = assertThrows(ExecutionException.class, third::get);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        service.close();
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AtanBatchingService(atanSeries, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AtanBatchingService(atanSeries, 8, -1));
+        assertThrows(NullPointerException.class, () -> new AtanBatchingService(null, 8, 10));
+    }
+
+    private static double argument(int thread, int i) {
+        return (thread - 8) * 0.37 + i * 1e-3;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtanCoefficientsTest {
+
+    @Test
+    void coefficientsAreSharedForSameEpsilonAndMaxTerms() {
+        assertSame(AtanCoefficients.shared(1e-9, 1000), AtanCoefficients.shared(1e-9, 1000));
+    }
+
+    @Test
+    void ratiosAreRatiosOfNeighbourSeriesTerms() {
+        double[] ratios = AtanCoefficients.shared(1e-12, 100_000).ratios();
+
+        for (int n = 0; n < ratios.length; n++) {
+            assertEquals(-(2.0 * n + 1.0) / (2.0 * n + 3.0), ratios[n]);
+        }
+    }
+
+    @Test
+    void worstCaseTermCountIsEnoughForHalf() {
+        AtanCoefficients coefficients = AtanCoefficients.shared(1e-12, 100_000);
+        int terms = coefficients.worstCaseTerms();
+
+        double lastTerm = Math.pow(0.5, 2 * terms + 1) / (2 * terms + 1);
+        double previousTerm = Math.pow(0.5, 2 * terms - 1) / (2 * terms - 1);
+
+        assertTrue(coefficients.convergesInWorstCase());
+        assertTrue(lastTerm < 1e-12);
+        assertTrue(previousTerm >= 1e-12);
+    }
+
+    @Test
+    void ratiosAreLimitedByMaxTerms() {
+        AtanCoefficients coefficients = AtanCoefficients.shared(1e-30, 2);
+
+        assertEquals(1, coefficients.worstCaseTerms());
+        assertFalse(coefficients.convergesInWorstCase());
+        assertEquals(0, AtanCoefficients.shared(1e-30, 1).worstCaseTerms());
+    }
+
+    @Test
+    void cacheIsBounded() {
+        for (int maxTerms = 1; maxTerms <= 2 * AtanCoefficients.MAX_CACHED; maxTerms++) {
+            AtanCoefficients.shared(1e-6, maxTerms);
+        }
+
+        assertTrue(AtanCoefficients.cachedCount() <= AtanCoefficients.MAX_CACHED);
+    }
+}
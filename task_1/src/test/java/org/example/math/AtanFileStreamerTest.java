@@ -0,0 +1,140 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AtanFileStreamerTest {
+    private final AtanSeries atanSeries = new AtanSeries();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void processesWholeFileInWindows() throws IOException {
+        double[] arguments = arguments(1000);
+        Path input = write(directory.resolve("in.bin"), arguments);
+        Path output = directory.resolve("out.bin");
+        List<Long> progress = new ArrayList<>();
+
+        long processed = new AtanFileStreamer(atanSeries, 300)
+            .process(input, output, 0, (done, total) -> progress.add(done));
+
+        assertEquals(1000, processed);
+        assertEquals(List.of(300L, 600L, 900L, 1000L), progress);
+        assertArrayEquals(expected(arguments), read(output), 1e-12);
+    }
+
+    @Test
+    void resumesFromGivenIndexWithoutTouchingEarlierResults() throws IOException {
+        double[] arguments = arguments(500);
+        Path input = write(directory.resolve("in.bin"), arguments);
+        Path output = write(directory.resolve("out.bin"), new double[500]);
+
+        long processed = new AtanFileStreamer(atanSeries, 128).process(input, output, 200, null);
+
+        double[] result = read(output);
+        assertEquals(300, processed);
+        for (int i = 0; i < 200; i++) {
+            assertEquals(0.0, result[i]);
+        }
+        for (int i = 200; i < 500; i++) {
+            assertEquals(atanSeries.atan(arguments[i]), result[i], 1e-12);
+        }
+    }
+
+    @Test
+    void resumesAfterAbortInTheMiddleOfWindow() throws IOException {
+        double[] arguments = arguments(1000);
+        Path input = write(directory.resolve("in.bin"), arguments);
+        Path output = directory.resolve("out.bin");
+        List<Long> progress = new ArrayList<>();
+
+        // Обрыв после первого окна; часть второго окна успела попасть в файл мусором.
+        assertThrows(IllegalStateException.class, () -> new AtanFileStreamer(atanSeries, 300)
+            .process(input, output, 0, (done, total) -> {
+                progress.add(done);
+                throw new IllegalStateException("crash");
+            }));
+        double[] partial = Arrays.copyOf(read(output), 450);
+        Arrays.fill(partial, 300, 450, Double.NaN);
+        write(output, partial);
+
+        long processed = new AtanFileStreamer(atanSeries, 300).process(input, output, progress.get(0), null);
+
+        assertEquals(700, processed);
+        assertArrayEquals(expected(arguments), read(output), 1e-12);
+        assertArrayEquals(arguments, read(input));
+    }
+
+    @Test
+    void refusesToResumeInPlace() throws IOException {
+        double[] arguments = arguments(500);
+        Path file = write(directory.resolve("data.bin"), arguments);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new AtanFileStreamer(atanSeries, 100).process(file, file, 200, null));
+        assertArrayEquals(arguments, read(file));
+    }
+
+    @Test
+    void processesFileInPlace() throws IOException {
+        double[] arguments = arguments(777);
+        Path file = write(directory.resolve("data.bin"), arguments);
+
+        new AtanFileStreamer(atanSeries, 100).process(file, file);
+
+        assertArrayEquals(expected(arguments), read(file), 1e-12);
+    }
+
+    @Test
+    void rejectsInvalidArguments() throws IOException {
+        Path broken = Files.write(directory.resolve("broken.bin"), new byte[12]);
+        Path input = write(directory.resolve("in.bin"), arguments(10));
+        AtanFileStreamer streamer = new AtanFileStreamer(atanSeries);
+
+        assertThrows(IllegalArgumentException.class, () -> new AtanFileStreamer(atanSeries, 0));
+        assertThrows(IllegalArgumentException.class, () -> streamer.process(broken, directory.resolve("a.bin")));
+        assertThrows(IllegalArgumentException.class,
+            () -> streamer.process(input, directory.resolve("b.bin"), 11, null));
+    }
+
+    private double[] arguments(int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (i - count / 2) * 0.037;
+        }
+        return values;
+    }
+
+    private double[] expected(double[] arguments) {
+        double[] values = new double[arguments.length];
+        atanSeries.atan(arguments, values);
+        return values;
+    }
+
+    private static Path write(Path file, double[] values) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asDoubleBuffer().put(values);
+        return Files.write(file, bytes.array());
+    }
+
+    private static double[] read(Path file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        double[] values = new double[bytes.remaining() / Double.BYTES];
+        bytes.asDoubleBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.example.math.AtanMetrics.Event.DIRECT;
+import static org.example.math.AtanMetrics.Event.HALF_ANGLE;
+import static org.example.math.AtanMetrics.Event.INFINITY;
+import static org.example.math.AtanMetrics.Event.NAN;
+import static org.example.math.AtanMetrics.Event.NOT_CONVERGED;
+import static org.example.math.AtanMetrics.Event.RECIPROCAL;
+import static org.example.math.AtanMetrics.Event.TABLE;
+import static org.example.math.AtanMetrics.Event.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AtanMetricsTest {
+
+    @Test
+    void metricsAreDisabledByDefault() {
+        AtanSeries plain = new AtanSeries();
+        AtanSeries measured = plain.withMetrics();
+
+        assertNull(plain.getMetrics());
+        assertNotNull(measured.getMetrics());
+        assertEquals(plain.atan(0.7), measured.atan(0.7));
+    }
+
+    @Test
+    void countsBranchesAndSpecialValues() {
+        AtanSeries measured = new AtanSeries().withMetrics();
+        AtanMetrics metrics = measured.getMetrics();
+
+        measured.atan(Double.NaN);
+        measured.atan(Double.NEGATIVE_INFINITY);
+        measured.atan(-0.0);
+        measured.atan(0.2);
+        measured.atan(0.8);
+        measured.atan(5.0);
+        measured.atan(1.5);
+
+        assertEquals(1, metrics.count(NAN));
+        assertEquals(1, metrics.count(INFINITY));
+        assertEquals(1, metrics.count(ZERO));
+        assertEquals(2, metrics.count(RECIPROCAL));
+        assertEquals(2, metrics.count(HALF_ANGLE));
+        assertEquals(2, metrics.count(DIRECT));
+        assertEquals(0, metrics.count(TABLE));
+        assertEquals(4, Arrays.stream(metrics.termsHistogram()).sum());
+    }
+
+    @Test
+    void countsTableReductionAndBulkCalls() {
+        AtanSeries measured = new AtanSeries(1e-12, 100_000, AtanSeries.Mode.SERIES, 32).withMetrics();
+        AtanMetrics metrics = measured.getMetrics();
+
+        measured.atan(new double[]{0.3, -4.0, Double.NaN}, new double[3]);
+
+        assertEquals(2, metrics.count(TABLE));
+        assertEquals(1, metrics.count(RECIPROCAL));
+        assertEquals(1, metrics.count(NAN));
+        assertEquals(3, Arrays.stream(metrics.termsHistogram()).sum());
+    }
+
+    @Test
+    void recordsTermsHistogramAndNearMisses() {
+        AtanSeries measured = new AtanSeries(1e-3, 4).withMetrics();
+        AtanMetrics metrics = measured.getMetrics();
+
+        measured.atan(1e-5);
+        measured.atan(0.45);
+
+        long[] histogram = metrics.termsHistogram();
+        assertEquals(1, histogram[1]);
+        assertEquals(1, histogram[4]);
+        assertEquals(1, metrics.nearMisses());
+        assertEquals(2.5, metrics.meanTerms());
+
+        metrics.reset();
+        assertEquals(0, Arrays.stream(metrics.termsHistogram()).sum());
+        assertEquals(0.0, metrics.meanTerms());
+    }
+
+    @Test
+    void countsSeriesFailures() {
+        AtanSeries measured = new AtanSeries(1e-30, 2).withMetrics();
+
+        assertThrows(IllegalStateException.class, () -> measured.atan(0.4));
+        assertEquals(1, measured.getMetrics().count(NOT_CONVERGED));
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtanReductionTableTest {
+
+    @Test
+    void tablesAreSharedForSameEpsilonAndSize() {
+        assertSame(AtanReductionTable.shared(1e-10, 16), AtanReductionTable.shared(1e-10, 16));
+        assertNotSame(AtanReductionTable.shared(1e-10, 16), AtanReductionTable.shared(1e-10, 32));
+        assertNotSame(AtanReductionTable.shared(1e-10, 16), AtanReductionTable.shared(1e-8, 16));
+    }
+
+    @Test
+    void tableValuesMatchMathAtanInBreakpoints() {
+        AtanReductionTable table = AtanReductionTable.shared(1e-12, 64);
+
+        for (int k = 0; k <= table.size(); k++) {
+            assertEquals(Math.atan(table.breakpoint(k)), table.atanAt(k), 1e-13);
+        }
+    }
+
+    @Test
+    void residualArgumentStaysWithinBound() {
+        AtanReductionTable table = AtanReductionTable.shared(1e-12, 50);
+
+        for (double y = 0.0; y <= 1.0; y += 1e-4) {
+            int index = table.index(y);
+            double breakpoint = table.breakpoint(index);
+            double residual = (y - breakpoint) / (1.0 + y * breakpoint);
+            assertTrue(Math.abs(residual) <= table.maxResidual(), "residual is out of bound for y=" + y);
+        }
+    }
+
+    @Test
+    void cacheIsBoundedAndEvictsLeastRecentlyUsed() {
+        // epsilon, вычисляемый во время работы: каждая таблица со своим ключом.
+        double first = 1e-3;
+        AtanReductionTable kept = AtanReductionTable.shared(2e-3, 4);
+        AtanReductionTable.shared(first, 4);
+        for (int i = 1; i <= 2 * AtanReductionTable.MAX_CACHED; i++) {
+            AtanReductionTable.shared(first + i * 1e-9, 4);
+            if (i % 8 == 0) {
+                assertSame(kept, AtanReductionTable.shared(2e-3, 4));
+            }
+        }
+
+        assertTrue(AtanReductionTable.cachedCount() <= AtanReductionTable.MAX_CACHED);
+        assertFalse(AtanReductionTable.isShared(first, 4));
+        assertTrue(AtanReductionTable.isShared(2e-3, 4));
+        assertTrue(AtanReductionTable.isShared(first + 2 * AtanReductionTable.MAX_CACHED * 1e-9, 4));
+    }
+}
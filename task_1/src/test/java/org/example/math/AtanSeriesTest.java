@@ -4,11 +4,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AtanSeriesTest {
+    private static final BigDecimalAtanSeries REFERENCE = new BigDecimalAtanSeries(40);
+
     private final AtanSeries atanSeries = new AtanSeries();
 
     @Test
@@ -161,4 +173,554 @@ class AtanSeriesTest {
         assertThrows(IllegalStateException.class, () -> strict.atan(0.49));
     }
 
+    @Test
+    void bulkAtanMatchesScalarAtanOnAllBranches() {
+        double[] in = new double[1000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i - 500) * 0.013;
+        }
+        in[0] = 1e6;
+        in[1] = -1e-300;
+
+        double[] out = new double[in.length];
+        atanSeries.atan(in, out);
+
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(atanSeries.atan(in[i]), out[i], 1e-12);
+        }
+    }
+
+    @Test
+    void bulkAtanHandlesSpecialValues() {
+        double[] in = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0, Double.MIN_VALUE};
+        double[] out = new double[in.length];
+
+        atanSeries.atan(in, out);
+
+        assertTrue(Double.isNaN(out[0]));
+        assertEquals(Math.PI / 2.0, out[1], 1e-15);
+        assertEquals(-Math.PI / 2.0, out[2], 1e-15);
+        assertEquals(Double.doubleToRawLongBits(0.0), Double.doubleToRawLongBits(out[3]));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(out[4]));
+        assertEquals(Double.MIN_VALUE, out[5]);
+    }
+
+    @Test
+    void bulkAtanRespectsOffsetsAndLength() {
+        double[] in = {100.0, 0.3, 0.7, 3.0, 100.0};
+        double[] out = {-1.0, -1.0, -1.0, -1.0};
+
+        atanSeries.atan(in, 1, out, 0, 3);
+
+        assertArrayEquals(new double[]{Math.atan(0.3), Math.atan(0.7), Math.atan(3.0), -1.0}, out, 1e-12);
+    }
+
+    @Test
+    void bulkAtanWorksInPlace() {
+        double[] values = {-3.0, -0.7, 0.3, 1.0};
+
+        atanSeries.atan(values, values);
+
+        assertArrayEquals(new double[]{Math.atan(-3.0), Math.atan(-0.7), Math.atan(0.3), Math.atan(1.0)}, values, 1e-12);
+    }
+
+    @Test
+    void bulkAtanValidatesBounds() {
+        double[] in = new double[4];
+
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.atan(in, new double[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.atan(in, 2, new double[4], 0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.atan(in, 0, new double[4], -1, 1));
+    }
+
+    @Test
+    void bulkAtanThrowsWhenSeriesCannotConverge() {
+        AtanSeries strict = new AtanSeries(1e-30, 2);
+        assertThrows(IllegalStateException.class, () -> strict.atan(new double[]{0.1, 0.5}, new double[2]));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-14})
+    void polynomialModeMeetsEpsilonAcrossWholeRange(double epsilon) {
+        AtanSeries polynomial = new AtanSeries(epsilon, 100, AtanSeries.Mode.POLYNOMIAL);
+
+        for (double x = -20.0; x <= 20.0; x += 0.001) {
+            assertEquals(Math.atan(x), polynomial.atan(x), epsilon);
+        }
+        for (double x : new double[]{0.5, -0.5, 1.0, -1.0, 1e-300, 1e300, -Double.MAX_VALUE}) {
+            assertEquals(Math.atan(x), polynomial.atan(x), epsilon);
+        }
+    }
+
+    @Test
+    void polynomialModeHandlesSpecialValues() {
+        AtanSeries polynomial = new AtanSeries(1e-12, 100, AtanSeries.Mode.POLYNOMIAL);
+
+        assertTrue(Double.isNaN(polynomial.atan(Double.NaN)));
+        assertEquals(Math.PI / 2.0, polynomial.atan(Double.POSITIVE_INFINITY), 1e-15);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(polynomial.atan(-0.0)));
+        assertEquals(Double.MIN_VALUE, polynomial.atan(Double.MIN_VALUE));
+    }
+
+    @Test
+    void polynomialModeBulkMatchesScalarExactly() {
+        AtanSeries polynomial = new AtanSeries(1e-10, 100, AtanSeries.Mode.POLYNOMIAL);
+        double[] in = new double[600];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i - 300) * 0.021;
+        }
+        double[] out = new double[in.length];
+
+        polynomial.atan(in, out);
+
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(polynomial.atan(in[i]), out[i]);
+        }
+    }
+
+    @Test
+    void polynomialModeRejectsTooSmallMaxTerms() {
+        assertThrows(IllegalArgumentException.class, () -> new AtanSeries(1e-12, 3, AtanSeries.Mode.POLYNOMIAL));
+        assertThrows(NullPointerException.class, () -> new AtanSeries(1e-12, 3, null));
+    }
+
+    @Test
+    void defaultModeIsSeries() {
+        assertEquals(AtanSeries.Mode.SERIES, atanSeries.getMode());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64, 1024})
+    void tableReductionMatchesMathAtan(int tableSize) {
+        AtanSeries table = new AtanSeries(1e-12, 100_000, AtanSeries.Mode.SERIES, tableSize);
+
+        for (double x = -20.0; x <= 20.0; x += 0.001) {
+            assertEquals(Math.atan(x), table.atan(x), 1e-12);
+        }
+        assertEquals(Math.PI / 4.0, table.atan(1.0), 1e-12);
+        assertEquals(Math.atan(1e300), table.atan(1e300), 1e-12);
+    }
+
+    @Test
+    void tableReductionBulkMatchesScalar() {
+        AtanSeries table = new AtanSeries(1e-12, 100_000, AtanSeries.Mode.POLYNOMIAL, 32);
+        double[] in = {Double.NaN, Double.NEGATIVE_INFINITY, -0.0, 0.0, -5.0, -0.99, 0.015, 0.5, 1.0, 42.0};
+        double[] out = new double[in.length];
+
+        table.atan(in, out);
+
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(table.atan(in[i]), out[i], 1e-15);
+        }
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(out[2]));
+    }
+
+    @Test
+    void tableReductionValidatesSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AtanSeries(1e-12, 10, AtanSeries.Mode.SERIES, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new AtanSeries(1e-12, 10, AtanSeries.Mode.SERIES, AtanReductionTable.MAX_SIZE + 1));
+        assertEquals(0, atanSeries.getReductionTableSize());
+    }
+
+    @Test
+    void parallelAtanMatchesSequentialBulkBitwise() {
+        double[] in = new double[300_007];
+        Random random = new Random(5);
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(8) - 4);
+        }
+        double[] sequential = new double[in.length];
+        double[] parallel = new double[in.length];
+        atanSeries.atan(in, sequential);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            atanSeries.parallelAtan(in, parallel, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(sequential, parallel);
+
+        double[] common = new double[in.length];
+        atanSeries.parallelAtan(in, common);
+        assertArrayEquals(sequential, common);
+    }
+
+    @Test
+    void parallelAtanHandlesSmallAndEmptyInputs() {
+        double[] out = new double[3];
+        atanSeries.parallelAtan(new double[]{-1.0, 0.0, 2.0}, out);
+        assertArrayEquals(new double[]{Math.atan(-1.0), 0.0, Math.atan(2.0)}, out, 1e-12);
+
+        atanSeries.parallelAtan(new double[0], new double[0]);
+    }
+
+    @Test
+    void parallelAtanValidatesArgumentsAndPropagatesFailures() {
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.parallelAtan(new double[5], new double[4]));
+        assertThrows(NullPointerException.class, () -> atanSeries.parallelAtan(new double[1], new double[1], null));
+
+        AtanSeries strict = new AtanSeries(1e-30, 2);
+        double[] in = new double[100_000];
+        Arrays.fill(in, 0.4);
+        assertThrows(IllegalStateException.class, () -> strict.parallelAtan(in, new double[in.length]));
+    }
+
+    @Test
+    void bufferAtanMatchesArrayAtanAndAdvancesPositions() {
+        double[] values = new double[700];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i - 350) * 0.017;
+        }
+        double[] expected = new double[values.length];
+        atanSeries.atan(values, expected);
+
+        DoubleBuffer in = ByteBuffer.allocateDirect(values.length * Double.BYTES).asDoubleBuffer().put(values).flip();
+        DoubleBuffer out = DoubleBuffer.allocate(values.length + 1);
+        out.position(1);
+
+        atanSeries.atan(in, out);
+
+        assertEquals(values.length, in.position());
+        assertEquals(values.length + 1, out.position());
+        double[] actual = new double[values.length];
+        out.get(1, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void bufferAtanWorksInPlaceAndChecksCapacity() {
+        DoubleBuffer buffer = DoubleBuffer.wrap(new double[]{-2.0, 0.25, 1.0});
+
+        atanSeries.atan(buffer, buffer.duplicate());
+
+        assertArrayEquals(new double[]{Math.atan(-2.0), Math.atan(0.25), Math.atan(1.0)}, buffer.array(), 1e-12);
+        assertThrows(BufferOverflowException.class,
+            () -> atanSeries.atan(DoubleBuffer.allocate(3), DoubleBuffer.allocate(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-2, 1e-5, 1e-9, 1e-13})
+    void errorStaysWithinEpsilonOnEveryReductionBranch(double epsilon) {
+        AtanSeries series = new AtanSeries(epsilon, 100_000);
+        AtanSeries table = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.SERIES, 16);
+
+        for (double x = -4.0; x <= 4.0; x += 1e-4) {
+            assertEquals(StrictMath.atan(x), series.atan(x), epsilon);
+            assertEquals(StrictMath.atan(x), table.atan(x), epsilon);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-8, 1e-13})
+    void atanIntervalContainsExactValueOnEveryBranch(double epsilon) {
+        AtanSeries series = new AtanSeries(epsilon, 100_000);
+        AtanSeries table = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.SERIES, 16);
+        AtanSeries polynomial = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.POLYNOMIAL);
+
+        for (double x = -6.0; x <= 6.0; x += 1.3e-3) {
+            for (AtanSeries calculator : new AtanSeries[]{series, table, polynomial}) {
+                AtanInterval interval = calculator.atanInterval(x);
+                assertTrue(interval.contains(StrictMath.atan(x)), () -> "x=" + interval);
+                assertTrue(interval.width() <= 4.0 * epsilon, () -> "x=" + interval);
+            }
+        }
+    }
+
+    @Test
+    void atanIntervalHandlesSpecialAndExtremeValues() {
+        AtanInterval positiveInfinity = atanSeries.atanInterval(Double.POSITIVE_INFINITY);
+        AtanInterval negativeInfinity = atanSeries.atanInterval(Double.NEGATIVE_INFINITY);
+        AtanInterval nan = atanSeries.atanInterval(Double.NaN);
+
+        assertTrue(positiveInfinity.contains(Math.PI / 2.0));
+        assertTrue(positiveInfinity.upper() > Math.PI / 2.0);
+        assertEquals(positiveInfinity.negate(), negativeInfinity);
+        assertTrue(Double.isNaN(nan.lower()) && Double.isNaN(nan.upper()));
+        assertEquals(new AtanInterval(-0.0, -0.0), atanSeries.atanInterval(-0.0));
+
+        for (double x : new double[]{Double.MIN_VALUE, 1e-300, 1.0, 1e300, Double.MAX_VALUE}) {
+            assertTrue(atanSeries.atanInterval(x).contains(StrictMath.atan(x)));
+            assertTrue(atanSeries.atanInterval(-x).contains(StrictMath.atan(-x)));
+        }
+    }
+
+    @Test
+    void atanIntervalContainsPointEstimate() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            double x = (random.nextDouble() - 0.5) * Math.pow(10.0, 8.0 * random.nextDouble() - 4.0);
+            AtanInterval interval = atanSeries.atanInterval(x);
+            assertTrue(interval.lower() <= interval.upper());
+            assertEquals(interval.midpoint(), atanSeries.atan(x), 2.0 * atanSeries.getEpsilon());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-8, 1e-13})
+    void derivedFunctionsMeetEpsilonInEveryMode(double epsilon) {
+        AtanSeries[] calculators = {
+            new AtanSeries(epsilon, 100_000),
+            new AtanSeries(epsilon, 100_000, AtanSeries.Mode.SERIES, 16),
+            new AtanSeries(epsilon, 100_000, AtanSeries.Mode.POLYNOMIAL)
+        };
+
+        for (AtanSeries calculator : calculators) {
+            for (double x = -1.0; x <= 1.0; x += 1e-3) {
+                assertEquals(StrictMath.asin(x), calculator.asin(x), epsilon);
+                assertEquals(StrictMath.acos(x), calculator.acos(x), epsilon);
+            }
+            for (double angle = -3.14; angle <= 3.14; angle += 7e-3) {
+                double y = 3.0 * Math.sin(angle);
+                double x = 3.0 * Math.cos(angle);
+                assertEquals(StrictMath.atan2(y, x), calculator.atan2(y, x), epsilon);
+            }
+        }
+    }
+
+    @Test
+    void atan2FollowsMathAtan2SpecialCases() {
+        double[] values = {
+            0.0, -0.0, 1.0, -1.0, 2.5, -1e-300, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN
+        };
+
+        for (double y : values) {
+            for (double x : values) {
+                double expected = StrictMath.atan2(y, x);
+                double actual = atanSeries.atan2(y, x);
+                if (Double.isNaN(expected) || expected == 0.0) {
+                    assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), () -> y + ", " + x);
+                } else {
+                    assertEquals(expected, actual, 1e-12, () -> y + ", " + x);
+                }
+            }
+        }
+    }
+
+    @Test
+    void asinAndAcosHandleDomainAndEndpoints() {
+        assertTrue(Double.isNaN(atanSeries.asin(Double.NaN)));
+        assertTrue(Double.isNaN(atanSeries.asin(1.0 + 1e-15)));
+        assertTrue(Double.isNaN(atanSeries.acos(-2.0)));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(atanSeries.asin(-0.0)));
+        assertEquals(Math.PI / 2.0, atanSeries.asin(1.0), 1e-15);
+        assertEquals(-Math.PI / 2.0, atanSeries.asin(-1.0), 1e-15);
+        assertEquals(0.0, atanSeries.acos(1.0));
+        assertEquals(Math.PI, atanSeries.acos(-1.0), 1e-15);
+        assertEquals(Math.PI / 2.0, atanSeries.acos(-0.0), 1e-15);
+        assertEquals(StrictMath.asin(1.0 - 1e-12), atanSeries.asin(1.0 - 1e-12), 1e-12);
+        assertEquals(StrictMath.acos(1.0 - 1e-12), atanSeries.acos(1.0 - 1e-12), 1e-12);
+    }
+
+    @Test
+    void derivedBulkFunctionsMatchScalar() {
+        Random random = new Random(17);
+        int size = 1000;
+        double[] y = new double[size];
+        double[] x = new double[size];
+        double[] unit = new double[size];
+        for (int i = 0; i < size; i++) {
+            y[i] = (random.nextDouble() - 0.5) * Math.pow(10.0, 6.0 * random.nextDouble() - 3.0);
+            x[i] = (random.nextDouble() - 0.5) * Math.pow(10.0, 6.0 * random.nextDouble() - 3.0);
+            unit[i] = 2.0 * random.nextDouble() - 1.0;
+        }
+        y[0] = -0.0;
+        x[0] = -0.0;
+        y[1] = Double.POSITIVE_INFINITY;
+        x[1] = Double.NEGATIVE_INFINITY;
+        unit[0] = -0.0;
+        unit[1] = 1.0;
+        unit[2] = -1.0;
+        unit[3] = 1.5;
+        unit[4] = Double.NaN;
+
+        for (AtanSeries calculator : new AtanSeries[]{atanSeries, new AtanSeries(1e-12, 100_000, AtanSeries.Mode.SERIES, 64)}) {
+            double[] atan2 = new double[size];
+            double[] asin = new double[size];
+            double[] acos = new double[size];
+            calculator.atan2(y, x, atan2);
+            calculator.asin(unit, asin);
+            calculator.acos(unit, acos);
+
+            assertArrayEquals(scalar(size, i -> calculator.atan2(y[i], x[i])), atan2, 2e-12);
+            assertArrayEquals(scalar(size, i -> calculator.asin(unit[i])), asin, 2e-12);
+            assertArrayEquals(scalar(size, i -> calculator.acos(unit[i])), acos, 2e-12);
+            assertEquals(Double.doubleToRawLongBits(-Math.PI), Double.doubleToRawLongBits(atan2[0]));
+            assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(asin[0]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> atanSeries.atan2(new double[2], new double[3], new double[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.asin(new double[3], new double[2]));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-15})
+    void acceleratedModeMeetsEpsilon(double epsilon) {
+        AtanSeries accelerated = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.ACCELERATED);
+        AtanSeries table = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.ACCELERATED, 16);
+
+        double[] in = new double[8001];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = -4.0 + i * 1e-3;
+            assertEquals(StrictMath.atan(in[i]), accelerated.atan(in[i]), epsilon);
+            assertEquals(StrictMath.atan(in[i]), table.atan(in[i]), epsilon);
+        }
+
+        double[] out = new double[in.length];
+        accelerated.atan(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(StrictMath.atan(in[i]), out[i], epsilon);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-15})
+    void acceleratedModeMeetsEpsilonOnDenseGridNearOne(double epsilon) {
+        // Остановка ACCELERATED эвристическая: проверяем худший участок - около |x| = 1.
+        AtanSeries accelerated = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.ACCELERATED);
+        AtanSeries table = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.ACCELERATED, 16);
+
+        double maxError = 0.0;
+        for (int i = -10_000; i <= 10_000; i++) {
+            double x = 1.0 + i * 1e-5;
+            for (double argument : new double[]{x, -x}) {
+                double expected = StrictMath.atan(argument);
+                maxError = Math.max(maxError, Math.abs(expected - accelerated.atan(argument)));
+                maxError = Math.max(maxError, Math.abs(expected - table.atan(argument)));
+            }
+        }
+        assertTrue(maxError <= epsilon, "max error " + maxError + " exceeds " + epsilon);
+    }
+
+    @Test
+    void acceleratedModeConvergesWithFewerTerms() {
+        AtanSeries plain = new AtanSeries(1e-12, 12);
+        AtanSeries accelerated = new AtanSeries(1e-12, 12, AtanSeries.Mode.ACCELERATED);
+
+        assertThrows(IllegalStateException.class, () -> plain.atan(0.9));
+        assertEquals(StrictMath.atan(0.9), accelerated.atan(0.9), 1e-12);
+        assertEquals(StrictMath.atan(-0.45), accelerated.atan(-0.45), 1e-12);
+        assertThrows(IllegalStateException.class, () -> new AtanSeries(1e-12, 4, AtanSeries.Mode.ACCELERATED).atan(0.9));
+
+        AtanSeries measuredPlain = new AtanSeries(1e-12, 100_000).withMetrics();
+        AtanSeries measuredAccelerated = new AtanSeries(1e-12, 100_000, AtanSeries.Mode.ACCELERATED).withMetrics();
+        for (double x = 0.01; x < 1.0; x += 0.01) {
+            measuredPlain.atan(x);
+            measuredAccelerated.atan(x);
+        }
+        assertTrue(totalTerms(measuredAccelerated) < 0.75 * totalTerms(measuredPlain));
+    }
+
+    @Test
+    void acceleratedModeHandlesSpecialValues() {
+        AtanSeries accelerated = new AtanSeries(1e-12, 100_000, AtanSeries.Mode.ACCELERATED);
+
+        assertTrue(Double.isNaN(accelerated.atan(Double.NaN)));
+        assertEquals(Math.PI / 2.0, accelerated.atan(Double.POSITIVE_INFINITY));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(accelerated.atan(-0.0)));
+        assertEquals(AtanSeries.Mode.ACCELERATED, accelerated.getMode());
+        assertEquals(StrictMath.atan2(-1.0, -3.0), accelerated.atan2(-1.0, -3.0), 1e-12);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 16})
+    void compensatedModeIsWithinAboutOneUlp(int tableSize) {
+        AtanSeries plain = new AtanSeries(1e-16, 100_000, AtanSeries.Mode.SERIES, tableSize);
+        AtanSeries compensated = new AtanSeries(1e-16, 100_000, AtanSeries.Mode.COMPENSATED, tableSize);
+
+        // Для |x| >= 0.25 ulp результата больше порога ряда, так что ошибка определяется округлениями.
+        Random random = new Random(7);
+        double maxUlps = 0.0;
+        double plainUlps = 0.0;
+        double compensatedUlps = 0.0;
+        for (int i = 0; i < 2000; i++) {
+            double x = i % 2 == 0 ? 0.25 + 8.0 * random.nextDouble() : Math.exp(20.0 * random.nextDouble() - 1.4);
+            x = i % 3 == 0 ? -x : x;
+            BigDecimal reference = REFERENCE.atan(x);
+            double error = ulps(compensated.atan(x), reference);
+            maxUlps = Math.max(maxUlps, error);
+            compensatedUlps += error;
+            plainUlps += ulps(plain.atan(x), reference);
+        }
+
+        assertTrue(maxUlps <= (tableSize == 0 ? 1.0 : 1.25), "max error " + maxUlps + " ulp");
+        assertTrue(compensatedUlps < 0.8 * plainUlps);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-3, 1e-6, 1e-9, 1e-12, 1e-15})
+    void compensatedModeMeetsEpsilon(double epsilon) {
+        AtanSeries compensated = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.COMPENSATED);
+        AtanSeries table = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.COMPENSATED, 16);
+
+        double[] in = new double[8001];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = -4.0 + i * 1e-3;
+            assertEquals(StrictMath.atan(in[i]), compensated.atan(in[i]), epsilon);
+            assertEquals(StrictMath.atan(in[i]), table.atan(in[i]), epsilon);
+        }
+
+        double[] out = new double[in.length];
+        compensated.atan(in, out);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(compensated.atan(in[i])), Double.doubleToRawLongBits(out[i]));
+        }
+    }
+
+    @Test
+    void compensatedModeNeedsNoMoreTermsThanSeries() {
+        AtanSeries plain = new AtanSeries(1e-15, 100_000).withMetrics();
+        AtanSeries compensated = new AtanSeries(1e-15, 100_000, AtanSeries.Mode.COMPENSATED).withMetrics();
+        for (double x = 0.01; x < 4.0; x += 0.01) {
+            plain.atan(x);
+            compensated.atan(x);
+        }
+
+        assertTrue(totalTerms(compensated) <= totalTerms(plain));
+        assertThrows(IllegalStateException.class, () -> new AtanSeries(1e-15, 5, AtanSeries.Mode.COMPENSATED).atan(0.9));
+    }
+
+    @Test
+    void compensatedModeHandlesSpecialValuesAndDerivedFunctions() {
+        AtanSeries compensated = new AtanSeries(1e-15, 100_000, AtanSeries.Mode.COMPENSATED);
+
+        assertTrue(Double.isNaN(compensated.atan(Double.NaN)));
+        assertEquals(Math.PI / 2.0, compensated.atan(Double.POSITIVE_INFINITY));
+        assertEquals(-Math.PI / 2.0, compensated.atan(-1e300));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(compensated.atan(-0.0)));
+        assertEquals(AtanSeries.Mode.COMPENSATED, compensated.getMode());
+
+        double[] y = {-1.0, 0.0, 3.0, -0.5, 1e-300};
+        double[] x = {-3.0, -1.0, 0.5, 2.0, -1.0};
+        double[] atan2 = new double[y.length];
+        compensated.atan2(y, x, atan2);
+        for (int i = 0; i < y.length; i++) {
+            assertEquals(StrictMath.atan2(y[i], x[i]), atan2[i], 1e-15);
+            assertEquals(Double.doubleToRawLongBits(compensated.atan2(y[i], x[i])), Double.doubleToRawLongBits(atan2[i]));
+        }
+        assertEquals(StrictMath.asin(0.9), compensated.asin(0.9), 1e-15);
+        assertEquals(StrictMath.acos(-0.3), compensated.acos(-0.3), 1e-15);
+    }
+
+    private static long totalTerms(AtanSeries measured) {
+        long[] histogram = measured.getMetrics().termsHistogram();
+        long total = 0;
+        for (int terms = 0; terms < histogram.length; terms++) {
+            total += terms * histogram[terms];
+        }
+        return total;
+    }
+
+    private static double ulps(double value, BigDecimal reference) {
+        return new BigDecimal(value).subtract(reference).abs().doubleValue() / Math.ulp(reference.doubleValue());
+    }
+
+    private static double[] scalar(int size, IntToDoubleFunction function) {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = function.applyAsDouble(i);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,106 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtanSweepTest {
+
+    @Test
+    void reportRoundTripsThroughParse() {
+        AtanSweep.Result result = result("series", 3, Double.NaN, 0.25, 1.5);
+
+        Map<String, Map<String, String>> rows = AtanSweep.parse(AtanSweep.report(List.of(result), 100));
+
+        Map<String, String> fields = rows.get("series/uniform");
+        assertEquals(1, rows.size());
+        assertEquals("3", fields.get("nonFinite"));
+        assertEquals("NaN", fields.get("maxUlp"));
+        assertEquals("0.250000", fields.get("meanUlp"));
+        assertEquals("1.50", fields.get("nsPerOp"));
+    }
+
+    @Test
+    void identicalReportHasNoRegressions() {
+        List<AtanSweep.Result> results = List.of(result("series", 0, 0.5, 0.1, 10.0));
+
+        assertEquals(List.of(), compare(results, results));
+        assertEquals(List.of(), AtanSweep.added(AtanSweep.parse(AtanSweep.report(results, 100)), results));
+    }
+
+    @Test
+    void nonFiniteValuesAreRegressions() {
+        List<AtanSweep.Result> baseline = List.of(result("series", 0, 0.5, 0.1, 10.0));
+
+        List<String> nanUlp = compare(baseline, List.of(result("series", 0, Double.NaN, 0.1, 10.0)));
+        List<String> infiniteMean =
+            compare(baseline, List.of(result("series", 0, 0.5, Double.POSITIVE_INFINITY, 10.0)));
+        List<String> nanOutputs = compare(baseline, List.of(result("series", 2, 0.5, 0.1, 10.0)));
+
+        assertEquals(List.of("REGRESSION series/uniform maxUlp: 0.5000 -> NaN"), nanUlp);
+        assertEquals(List.of("REGRESSION series/uniform meanUlp: 0.100000 -> Infinity"), infiniteMean);
+        assertEquals(List.of("REGRESSION series/uniform nonFinite: 0 -> 2"), nanOutputs);
+    }
+
+    @Test
+    void missingAndAddedRowsAreReported() {
+        List<AtanSweep.Result> baseline = List.of(result("series", 0, 0.5, 0.1, 10.0));
+        List<AtanSweep.Result> results = List.of(result("polynomial", 0, 0.5, 0.1, 10.0));
+
+        assertEquals(List.of("REGRESSION series/uniform: missing from results"), compare(baseline, results));
+        assertEquals(
+            List.of("NEW polynomial/uniform: not in baseline"),
+            AtanSweep.added(AtanSweep.parse(AtanSweep.report(baseline, 100)), results)
+        );
+    }
+
+    @Test
+    void speedIsComparedWithToleranceAndFloor() {
+        List<AtanSweep.Result> baseline = List.of(result("series", 0, 0.5, 0.1, 10.0));
+
+        assertEquals(List.of(), compare(baseline, List.of(result("series", 0, 0.5, 0.1, 12.0))));
+        assertEquals(List.of(), compare(List.of(result("series", 0, 0.5, 0.1, 1.0)),
+            List.of(result("series", 0, 0.5, 0.1, 3.0))));
+        assertEquals(
+            List.of(
+                "REGRESSION series/uniform nsPerOp: 10.00 -> 20.0",
+                "REGRESSION series/uniform bulkNsPerOp: 10.00 -> 20.0"
+            ),
+            compare(baseline, List.of(result("series", 0, 0.5, 0.1, 20.0)))
+        );
+    }
+
+    @Test
+    void nonFiniteOutputsAreCountedSeparately() {
+        AtanSweep.Calculator broken = new AtanSweep.Calculator(
+            "broken",
+            x -> x < 0.0 ? Double.NaN : StrictMath.atan(x),
+            (in, inOffset, out, outOffset, length) -> { }
+        );
+
+        for (AtanSweep.Result result : AtanSweep.sweep(List.of(broken), 256)) {
+            assertTrue(result.nonFinite() > 0, result.key());
+            assertTrue(result.nonFinite() < result.count(), result.key());
+            assertEquals(0.0, result.maxUlp(), result.key());
+            assertEquals(0.0, result.meanUlp(), result.key());
+        }
+    }
+
+    private static AtanSweep.Result result(
+        String calculator,
+        int nonFinite,
+        double maxUlp,
+        double meanUlp,
+        double nanos
+    ) {
+        return new AtanSweep.Result(calculator, "uniform", 100, nonFinite, maxUlp, meanUlp, 0.0, 0.5, nanos, nanos);
+    }
+
+    private static List<String> compare(List<AtanSweep.Result> baseline, List<AtanSweep.Result> results) {
+        return AtanSweep.compare(AtanSweep.parse(AtanSweep.report(baseline, 100)), results, 0.25, 5.0);
+    }
+}
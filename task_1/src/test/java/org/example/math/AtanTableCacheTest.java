@@ -0,0 +1,127 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtanTableCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void preloadWritesReductionTableThatCanBeReadBack() {
+        AtanTableCache cache = new AtanTableCache(directory.resolve("cache"));
+        double epsilon = 3.7e-11;
+
+        assertFalse(cache.preloadReductionTable(epsilon, 128));
+        assertTrue(cache.preloadReductionTable(epsilon, 128));
+
+        Path file = cache.fileFor(AtanTableFile.REDUCTION, epsilon, 128);
+        double[] values = AtanTableCache.readReductionValues(file, epsilon, 128);
+        assertNotNull(values);
+        AtanReductionTable shared = AtanReductionTable.shared(epsilon, 128);
+        for (int k = 0; k <= 128; k++) {
+            assertEquals(shared.atanAt(k), values[k]);
+        }
+        assertNull(AtanTableCache.readReductionValues(file, epsilon, 64));
+        assertNull(AtanTableCache.readReductionValues(file, 1e-11, 128));
+    }
+
+    @Test
+    void preloadedTableIsUsedByAtanSeries() {
+        AtanTableCache cache = new AtanTableCache(directory);
+        double epsilon = 4.1e-12;
+        Path file = cache.fileFor(AtanTableFile.REDUCTION, epsilon, 256);
+        double[] values = new double[257];
+        for (int k = 0; k <= 256; k++) {
+            values[k] = StrictMath.atan(k / 256.0);
+        }
+        AtanReductionTable.install(epsilon, 256, values);
+
+        AtanSeries series = new AtanSeries(epsilon, 100_000, AtanSeries.Mode.SERIES, 256);
+
+        assertTrue(cache.preloadReductionTable(epsilon, 256));
+        assertFalse(Files.exists(file));
+        assertEquals(StrictMath.atan(0.7), series.atan(0.7), epsilon);
+    }
+
+    @Test
+    void corruptedFileIsDetectedByChecksum() throws IOException {
+        AtanTableCache cache = new AtanTableCache(directory);
+        double epsilon = 2.9e-10;
+        cache.preloadReductionTable(epsilon, 32);
+        Path file = cache.fileFor(AtanTableFile.REDUCTION, epsilon, 32);
+        assertNotNull(AtanTableCache.readReductionValues(file, epsilon, 32));
+
+        flipByte(file, Files.size(file) - 3);
+
+        assertNull(AtanTableFile.map(file));
+        assertNull(AtanTableCache.readReductionValues(file, epsilon, 32));
+    }
+
+    @Test
+    void interpolatedTableIsMappedAndRebuiltWhenCorrupted() throws IOException {
+        AtanTableCache cache = new AtanTableCache(directory);
+        Path file = cache.fileFor(AtanTableFile.INTERPOLATION, 1e-8, 0);
+
+        InterpolatedAtan first = cache.interpolatedAtan(1e-8);
+        assertTrue(first.isMapped());
+        assertTrue(Files.exists(file));
+
+        flipByte(file, 100);
+        assertThrows(IOException.class, () -> InterpolatedAtan.map(file));
+
+        InterpolatedAtan repaired = cache.interpolatedAtan(1e-8);
+        assertTrue(repaired.isMapped());
+        assertEquals(StrictMath.atan(2.5), repaired.atan(2.5), 1e-8);
+        assertEquals(InterpolatedAtan.shared(1e-8).atan(0.123), InterpolatedAtan.map(file).atan(0.123));
+    }
+
+    @Test
+    void fallsBackToMemoryWhenDirectoryIsNotWritable() throws IOException {
+        Path notADirectory = Files.writeString(directory.resolve("file"), "x");
+        AtanTableCache cache = new AtanTableCache(notADirectory);
+
+        InterpolatedAtan table = cache.interpolatedAtan(1e-6);
+
+        assertFalse(table.isMapped());
+        assertFalse(cache.preloadReductionTable(5.3e-9, 16));
+        assertEquals(StrictMath.atan(0.4), table.atan(0.4), 1e-6);
+    }
+
+    @Test
+    void fileNameContainsKeyAndVersion() {
+        AtanTableCache cache = new AtanTableCache(directory);
+
+        String name = cache.fileFor(AtanTableFile.REDUCTION, 1e-12, 1024).getFileName().toString();
+
+        assertTrue(name.startsWith("reduction-" + Long.toHexString(Double.doubleToLongBits(1e-12)) + "-1024-"));
+        assertTrue(name.contains(Long.toHexString(AtanReductionTable.VERSION_HASH)));
+        assertThrows(IllegalArgumentException.class, () -> cache.preloadReductionTable(1e-12, 0));
+        assertThrows(IllegalArgumentException.class, () -> cache.preloadReductionTable(Double.NaN, 16));
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x40));
+            one.rewind();
+            channel.write(one, position);
+        }
+    }
+}
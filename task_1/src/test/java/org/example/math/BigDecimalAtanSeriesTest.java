@@ -0,0 +1,161 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BigDecimalAtanSeriesTest {
+    private static final BigDecimal PI = new BigDecimal(
+        "3.14159265358979323846264338327950288419716939937510582097494459230781640628620899862803482534211706798214808651"
+            + "328230664709384460955058223172535940812848111745028410270193852110555964462294895493038196"
+    );
+
+    @Test
+    void atanOfOneIsQuarterPi() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(100);
+
+        BigDecimal expected = PI.divide(BigDecimal.valueOf(4), series.getMathContext());
+        assertEquals(expected, series.atan(BigDecimal.ONE));
+        assertEquals(expected.negate(), series.atan(-1.0));
+    }
+
+    @Test
+    void matchesIndependentPiAtThousandDigits() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(1000);
+
+        BigDecimal pi = series.atan(BigDecimal.ONE).multiply(BigDecimal.valueOf(4));
+        assertTrue(pi.subtract(machinPi(1010)).abs().compareTo(new BigDecimal("1e-995")) < 0);
+    }
+
+    @Test
+    void roundsToNearestDoubleLikeStrictMath() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(40);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            double x = Math.exp(10.0 * random.nextGaussian()) * (random.nextBoolean() ? 1.0 : -1.0);
+            double expected = StrictMath.atan(x);
+            assertEquals(expected, series.atan(x).doubleValue(), Math.ulp(expected));
+        }
+        assertEquals(Math.PI / 2.0, series.atan(Double.POSITIVE_INFINITY).doubleValue());
+        assertEquals(-Math.PI / 2.0, series.atan(Double.NEGATIVE_INFINITY).doubleValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {20, 300, 2000})
+    void satisfiesAdditionFormula(int digits) {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(digits);
+        MathContext context = new MathContext(digits + 10);
+        BigDecimal a = new BigDecimal("0.3");
+        BigDecimal b = new BigDecimal("0.4");
+
+        // arctg(a) + arctg(b) = arctg((a + b) / (1 - ab)) при ab < 1.
+        BigDecimal sum = series.atan(a).add(series.atan(b));
+        BigDecimal combined = series.atan(a.add(b).divide(BigDecimal.ONE.subtract(a.multiply(b)), context));
+        assertTrue(sum.subtract(combined).abs().compareTo(BigDecimal.ONE.movePointLeft(digits - 1)) < 0);
+    }
+
+    @Test
+    void reciprocalArgumentsAddUpToHalfPi() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(150);
+        BigDecimal x = new BigDecimal("7.25");
+
+        BigDecimal sum = series.atan(x).add(series.atan(BigDecimal.ONE.divide(x, new MathContext(170))));
+        BigDecimal halfPi = PI.divide(BigDecimal.valueOf(2), new MathContext(170));
+        assertTrue(sum.subtract(halfPi).abs().compareTo(new BigDecimal("1e-148")) < 0);
+    }
+
+    @Test
+    void keepsRelativePrecisionForTinyAndHugeArguments() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(50);
+
+        assertEquals(0, new BigDecimal("1e-300").compareTo(series.atan(new BigDecimal("1e-300"))));
+        BigDecimal small = series.atan(new BigDecimal("1e-20"));
+        // arctg(x) = x - x^3 / 3 + ...
+        BigDecimal expected = new BigDecimal("1e-20").subtract(new BigDecimal("1e-60").divide(BigDecimal.valueOf(3), new MathContext(60)));
+        assertEquals(expected.round(series.getMathContext()), small);
+        assertEquals(PI.divide(BigDecimal.valueOf(2), series.getMathContext()), series.atan(new BigDecimal("1e300")));
+    }
+
+    @Test
+    void tinyArgumentsCostDoesNotDependOnExponent() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(20);
+
+        long start = System.nanoTime();
+        assertEquals(new BigDecimal("1e-200000"), series.atan(new BigDecimal("1e-200000")));
+        assertEquals(new BigDecimal("-1e-1000000000"), series.atan(new BigDecimal("-1e-1000000000")));
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+
+        // Наибольший порядок x, при котором ответ - округленный x: поправка x^3 / 3
+        // не меняет результат и в точном вычислении.
+        BigDecimal boundary = new BigDecimal("3.1415926535897932384626e-12");
+        BigDecimal expected = boundary.subtract(boundary.pow(3).divide(BigDecimal.valueOf(3), new MathContext(60)));
+        assertEquals(expected.round(series.getMathContext()), series.atan(boundary));
+    }
+
+    @Test
+    void isOddAndZeroAtZero() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(60);
+
+        for (String value : new String[]{"0.001", "0.5", "0.75", "1.5", "123456.789"}) {
+            BigDecimal x = new BigDecimal(value);
+            assertEquals(series.atan(x).negate(), series.atan(x.negate()));
+        }
+        assertEquals(0, series.atan(BigDecimal.ZERO).signum());
+        assertEquals(0, series.atan(-0.0).signum());
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        BigDecimalAtanSeries series = new BigDecimalAtanSeries(3000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String value : new String[]{"0.3", "0.9", "-17.125"}) {
+                BigDecimal x = new BigDecimal(value);
+                assertEquals(series.atan(x), series.parallelAtan(x, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BigDecimalAtanSeries(0));
+        assertThrows(IllegalArgumentException.class, () -> new BigDecimalAtanSeries(BigDecimalAtanSeries.MAX_DIGITS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new BigDecimalAtanSeries(20).atan(Double.NaN));
+        assertThrows(NullPointerException.class, () -> new BigDecimalAtanSeries(20).parallelAtan(BigDecimal.ONE, null));
+        assertEquals(20, new BigDecimalAtanSeries(20).getDigits());
+    }
+
+    /**
+     * pi = 16 arctg(1/5) - 4 arctg(1/239), ряды суммируются напрямую в BigDecimal.
+     */
+    private static BigDecimal machinPi(int digits) {
+        MathContext context = new MathContext(digits);
+        return atanOfInverse(5, context).multiply(BigDecimal.valueOf(16))
+            .subtract(atanOfInverse(239, context).multiply(BigDecimal.valueOf(4)));
+    }
+
+    private static BigDecimal atanOfInverse(int n, MathContext context) {
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), context);
+        BigDecimal square = BigDecimal.valueOf((long) n * n);
+        BigDecimal limit = BigDecimal.ONE.movePointLeft(context.getPrecision() + 5);
+        BigDecimal sum = power;
+        for (int k = 1; power.compareTo(limit) > 0; k++) {
+            power = power.divide(square, context);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * k + 1), context);
+            sum = k % 2 == 0 ? sum.add(term) : sum.subtract(term);
+        }
+        return sum;
+    }
+}
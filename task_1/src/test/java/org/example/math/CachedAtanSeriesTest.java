@@ -0,0 +1,96 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedAtanSeriesTest {
+    private final AtanSeries atanSeries = new AtanSeries();
+
+    @Test
+    void returnsDelegateResultsAndCountsHitsAndMisses() {
+        CachedAtanSeries cached = new CachedAtanSeries(atanSeries, 64);
+
+        assertEquals(atanSeries.atan(0.3), cached.atan(0.3));
+        assertEquals(atanSeries.atan(0.3), cached.atan(0.3));
+        assertEquals(atanSeries.atan(-7.0), cached.atan(-7.0));
+
+        assertEquals(1, cached.hits());
+        assertEquals(2, cached.misses());
+    }
+
+    @Test
+    void distinguishesKeysByRawBits() {
+        CachedAtanSeries cached = new CachedAtanSeries(atanSeries, 16);
+
+        cached.atan(0.0);
+        double minusZero = cached.atan(-0.0);
+
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(minusZero));
+        assertTrue(Double.isNaN(cached.atan(Double.NaN)));
+        assertTrue(Double.isNaN(cached.atan(Double.NaN)));
+        assertEquals(1, cached.hits());
+    }
+
+    @Test
+    void capacityIsBoundedAndEvictionKeepsResultsCorrect() {
+        CachedAtanSeries cached = new CachedAtanSeries(atanSeries, 100);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                double x = i * 0.01;
+                assertEquals(atanSeries.atan(x), cached.atan(x));
+            }
+        }
+
+        assertEquals(128, cached.capacity());
+        assertTrue(cached.evictions() > 0);
+        assertEquals(3000, cached.hits() + cached.misses());
+    }
+
+    @Test
+    void concurrentReadersNeverSeeTornEntries() throws Exception {
+        CachedAtanSeries cached = new CachedAtanSeries(atanSeries, 32);
+        double[] arguments = new double[256];
+        double[] expected = new double[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = (i - 128) * 0.1;
+            expected[i] = atanSeries.atan(arguments[i]);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        int index = ThreadLocalRandom.current().nextInt(arguments.length);
+                        assertEquals(expected[index], cached.atan(arguments[index]));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachedAtanSeries(atanSeries, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CachedAtanSeries(atanSeries, CachedAtanSeries.MAX_CAPACITY + 1));
+        assertThrows(NullPointerException.class, () -> new CachedAtanSeries(null, 16));
+    }
+}
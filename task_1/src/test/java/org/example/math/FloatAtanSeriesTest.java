@@ -0,0 +1,132 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloatAtanSeriesTest {
+    private final FloatAtanSeries atanSeries = new FloatAtanSeries();
+
+    @Test
+    void handlesSpecialValues() {
+        assertTrue(Float.isNaN(atanSeries.atan(Float.NaN)));
+        assertEquals((float) (Math.PI / 2.0), atanSeries.atan(Float.POSITIVE_INFINITY));
+        assertEquals((float) (-Math.PI / 2.0), atanSeries.atan(Float.NEGATIVE_INFINITY));
+        assertEquals(Float.floatToRawIntBits(0.0f), Float.floatToRawIntBits(atanSeries.atan(0.0f)));
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(atanSeries.atan(-0.0f)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 16})
+    void bulkAtanHandlesSpecialValuesInFullBlock(int tableSize) {
+        FloatAtanSeries series = new FloatAtanSeries(1e-6f, 10_000, tableSize);
+        float[] in = new float[512];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = -4.0f + i / 64.0f;
+        }
+        in[0] = Float.NaN;
+        in[1] = Float.POSITIVE_INFINITY;
+        in[2] = Float.NEGATIVE_INFINITY;
+        in[3] = 0.0f;
+        in[4] = -0.0f;
+        in[300] = Float.NaN;
+        in[301] = -0.0f;
+
+        float[] out = new float[in.length];
+        series.atan(in, out);
+
+        assertTrue(Float.isNaN(out[0]));
+        assertTrue(Float.isNaN(out[300]));
+        assertEquals((float) (Math.PI / 2.0), out[1]);
+        assertEquals((float) (-Math.PI / 2.0), out[2]);
+        assertEquals(Float.floatToRawIntBits(0.0f), Float.floatToRawIntBits(out[3]));
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(out[4]));
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(out[301]));
+        for (int i = 5; i < in.length; i++) {
+            if (i != 300 && i != 301) {
+                assertEquals(StrictMath.atan(in[i]), out[i], series.getEpsilon());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {1e-2f, 1e-4f, 1e-6f})
+    void errorStaysWithinEpsilon(float epsilon) {
+        FloatAtanSeries series = new FloatAtanSeries(epsilon, 10_000);
+
+        for (float x = -8.0f; x <= 8.0f; x += 1e-3f) {
+            assertEquals(StrictMath.atan(x), series.atan(x), epsilon);
+        }
+        assertEquals(StrictMath.atan(Float.MAX_VALUE), series.atan(Float.MAX_VALUE), epsilon);
+        assertEquals(StrictMath.atan(Float.MIN_VALUE), series.atan(Float.MIN_VALUE), epsilon);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 256})
+    void reductionTableKeepsErrorWithinEpsilon(int tableSize) {
+        float epsilon = 1e-6f;
+        FloatAtanSeries series = new FloatAtanSeries(epsilon, 10_000, tableSize);
+        float[] in = new float[16_001];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = -8.0f + i * 1e-3f;
+        }
+        float[] out = new float[in.length];
+        series.atan(in, out);
+
+        assertEquals(tableSize, series.getReductionTableSize());
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(StrictMath.atan(in[i]), series.atan(in[i]), epsilon);
+            assertEquals(StrictMath.atan(in[i]), out[i], epsilon);
+        }
+        assertEquals((float) (Math.PI / 2.0), series.atan(Float.POSITIVE_INFINITY));
+        assertTrue(Float.isNaN(series.atan(Float.NaN)));
+    }
+
+    @Test
+    void bulkAtanMatchesScalarWithinEpsilon() {
+        Random random = new Random(5);
+        float[] in = new float[1000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (float) ((random.nextDouble() - 0.5) * Math.pow(10.0, 6.0 * random.nextDouble() - 3.0));
+        }
+        in[0] = Float.POSITIVE_INFINITY;
+        in[1] = -0.0f;
+
+        float[] out = new float[in.length];
+        atanSeries.atan(in, out);
+
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(atanSeries.atan(in[i]), out[i], 2.0f * atanSeries.getEpsilon());
+        }
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(out[1]));
+    }
+
+    @Test
+    void bulkAtanRespectsOffsets() {
+        float[] in = {9.0f, 0.5f, -2.0f, 9.0f};
+        float[] out = {7.0f, 7.0f, 7.0f, 7.0f};
+
+        atanSeries.atan(in, 1, out, 0, 2);
+
+        assertArrayEquals(new float[]{(float) Math.atan(0.5), (float) Math.atan(-2.0), 7.0f, 7.0f}, out, 1e-6f);
+        assertThrows(IndexOutOfBoundsException.class, () -> atanSeries.atan(in, 3, out, 0, 2));
+    }
+
+    @Test
+    void validatesConstructorArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new FloatAtanSeries(0.0f, 10));
+        assertThrows(IllegalArgumentException.class, () -> new FloatAtanSeries(Float.NaN, 10));
+        assertThrows(IllegalArgumentException.class, () -> new FloatAtanSeries(1e-6f, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FloatAtanSeries(1e-6f, 10, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new FloatAtanSeries(1e-6f, 10, AtanReductionTable.MAX_SIZE + 1));
+        assertThrows(IllegalStateException.class, () -> new FloatAtanSeries(1e-6f, 2).atan(0.9f));
+    }
+}
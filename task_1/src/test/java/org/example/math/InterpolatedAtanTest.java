@@ -0,0 +1,141 @@
+package org.example.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterpolatedAtanTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-2, 1e-5, 1e-7, 1e-9, 1e-11, 1e-13})
+    void errorStaysWithinEpsilon(double epsilon) {
+        InterpolatedAtan table = InterpolatedAtan.shared(epsilon);
+
+        for (double x = -20.0; x <= 20.0; x += 1.7e-4) {
+            assertEquals(StrictMath.atan(x), table.atan(x), epsilon);
+        }
+        assertEquals(StrictMath.atan(1e300), table.atan(1e300), epsilon);
+        assertEquals(StrictMath.atan(-1e-300), table.atan(-1e-300), epsilon);
+    }
+
+    @Test
+    void choosesOrderAndSizeFromEpsilon() {
+        InterpolatedAtan coarse = InterpolatedAtan.shared(1e-7);
+        InterpolatedAtan fine = InterpolatedAtan.shared(1e-12);
+
+        assertEquals(1, coarse.getOrder());
+        assertTrue(coarse.getIntervals() <= InterpolatedAtan.MAX_LINEAR_INTERVALS);
+        assertEquals(3, fine.getOrder());
+        assertTrue(fine.getIntervals() < 1000);
+        assertSame(fine, InterpolatedAtan.shared(1e-12));
+        assertFalse(fine.isMapped());
+    }
+
+    @Test
+    void sharedCacheEvictsLeastRecentlyUsedTables() {
+        double first = 1e-3;
+        InterpolatedAtan kept = InterpolatedAtan.shared(2e-3);
+        InterpolatedAtan evicted = InterpolatedAtan.shared(first);
+        for (int i = 1; i <= 2 * InterpolatedAtan.MAX_CACHED; i++) {
+            InterpolatedAtan.shared(first + i * 1e-9);
+            if (i % 8 == 0) {
+                assertSame(kept, InterpolatedAtan.shared(2e-3));
+            }
+        }
+
+        assertTrue(InterpolatedAtan.cachedCount() <= InterpolatedAtan.MAX_CACHED);
+        assertSame(kept, InterpolatedAtan.shared(2e-3));
+        assertNotSame(evicted, InterpolatedAtan.shared(first));
+    }
+
+    @Test
+    void handlesSpecialValues() {
+        InterpolatedAtan table = InterpolatedAtan.shared(1e-9);
+
+        assertTrue(Double.isNaN(table.atan(Double.NaN)));
+        assertEquals(Math.PI / 2.0, table.atan(Double.POSITIVE_INFINITY));
+        assertEquals(-Math.PI / 2.0, table.atan(Double.NEGATIVE_INFINITY));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(table.atan(-0.0)));
+        assertEquals(Math.PI / 4.0, table.atan(1.0), 1e-9);
+    }
+
+    @Test
+    void bulkAtanMatchesScalar() {
+        InterpolatedAtan table = InterpolatedAtan.shared(1e-9);
+        double[] in = {-3.0, -0.5, 0.0, 0.25, 1.0, 7.0, Double.NaN};
+        double[] out = new double[in.length + 1];
+
+        table.atan(in, 0, out, 1, in.length);
+
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(table.atan(in[i]), out[i + 1]);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> table.atan(in, new double[2]));
+    }
+
+    @Test
+    void mappedTableMatchesHeapTableBitwise() throws IOException {
+        Path file = directory.resolve("atan-1e-10.lut");
+        InterpolatedAtan heap = InterpolatedAtan.shared(1e-10);
+
+        InterpolatedAtan created = InterpolatedAtan.mapped(1e-10, file);
+        InterpolatedAtan reopened = InterpolatedAtan.mapped(1e-10, file);
+
+        assertTrue(created.isMapped());
+        assertTrue(reopened.isMapped());
+        assertEquals(heap.getIntervals(), reopened.getIntervals());
+        double[] in = new double[2001];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i - 1000) * 7e-3;
+        }
+        double[] expected = new double[in.length];
+        double[] actual = new double[in.length];
+        heap.atan(in, expected);
+        reopened.atan(in, actual);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    void mappedRebuildsInvalidOrMismatchedFile() throws IOException {
+        Path file = directory.resolve("atan.lut");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        InterpolatedAtan repaired = InterpolatedAtan.mapped(1e-6, file);
+        InterpolatedAtan rebuilt = InterpolatedAtan.mapped(1e-11, file);
+
+        assertEquals(1e-6, repaired.getEpsilon());
+        assertEquals(1e-11, rebuilt.getEpsilon());
+        assertEquals(1e-11, InterpolatedAtan.map(file).getEpsilon());
+        assertEquals(StrictMath.atan(0.3), rebuilt.atan(0.3), 1e-11);
+    }
+
+    @Test
+    void mapRejectsForeignFile() throws IOException {
+        Path file = Files.write(directory.resolve("foreign.bin"), new byte[64]);
+
+        assertThrows(IOException.class, () -> InterpolatedAtan.map(file));
+    }
+
+    @Test
+    void validatesEpsilon() {
+        assertThrows(IllegalArgumentException.class, () -> InterpolatedAtan.shared(1e-15));
+        assertThrows(IllegalArgumentException.class, () -> InterpolatedAtan.shared(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> InterpolatedAtan.shared(Double.POSITIVE_INFINITY));
+    }
+}
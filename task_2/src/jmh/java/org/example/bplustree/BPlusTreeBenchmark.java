@@ -0,0 +1,172 @@
+package org.example.bplustree;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск, обход диапазона, вставка, удаление и загрузка из отсортированного массива
+ * на дереве из size случайных ключей.
+ * Занятая деревом память в байтах на ключ - счетчик bytesPerKey бенчмарка {@link #footprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class BPlusTreeBenchmark {
+    static final int PROBES = 1024;
+    static final int RANGE_WIDTH = (int) ((1L << 32) / 100);
+
+    // Ветвление внутренних узлов (maxKeys + 1): 8, 64, 256 и 1024.
+    @Param({"7", "63", "255", "1023"})
+    public int maxKeys;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] keys;
+    private int[] sortedKeys;
+    private int[] probes;
+    private BPlusTree tree;
+    private int next;
+
+    /**
+     * Память, занятая построенным за вызов деревом, в байтах на ключ; JMH выводит ее рядом со временем.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerKey;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerKey = 0.0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+        }
+        sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        // Половина проб - ключи дерева, половина - скорее всего отсутствующие.
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? keys[random.nextInt(size)] : random.nextInt();
+        }
+
+        tree = build(keys, maxKeys);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void contains(Blackhole blackhole) {
+        for (int key : probes) {
+            blackhole.consume(tree.contains(key));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BPlusTree insertAll() {
+        return build(keys, maxKeys);
+    }
+
+    /**
+     * Удаление и обратная вставка ключа дерева: размер дерева между вызовами не меняется.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PROBES / 2)
+    public void deleteAndReinsert() {
+        for (int i = 0; i < PROBES; i += 2) {
+            tree.delete(probes[i]);
+            tree.insert(probes[i]);
+        }
+    }
+
+    /**
+     * Сумма ключей из диапазона в 1% пространства int, начало диапазона - по очереди из проб.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long rangeScanOnePercent() {
+        int from = probes[next++ & (PROBES - 1)];
+        from = Math.min(from, Integer.MAX_VALUE - RANGE_WIDTH);
+        return tree.rangeStream(from, from + RANGE_WIDTH).asLongStream().sum();
+    }
+
+    /**
+     * Перестроение индекса по отсортированным ключам вставками - для сравнения с {@link #bulkLoad}.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BPlusTree insertAllSorted() {
+        return build(sortedKeys, maxKeys);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BPlusTree bulkLoad() {
+        BPlusTree loaded = new BPlusTree(maxKeys);
+        loaded.bulkLoad(sortedKeys, 1.0);
+        return loaded;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BPlusTree footprint(Footprint footprint) {
+        long before = usedMemory();
+        BPlusTree built = build(keys, maxKeys);
+        footprint.bytesPerKey = (double) (usedMemory() - before) / size;
+        return built;
+    }
+
+    private static BPlusTree build(int[] keys, int maxKeys) {
+        BPlusTree tree = new BPlusTree(maxKeys);
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
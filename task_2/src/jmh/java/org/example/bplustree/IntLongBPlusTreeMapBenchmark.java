@@ -0,0 +1,166 @@
+package org.example.bplustree;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Индекс ключ -> смещение на size случайных ключах: {@link IntLongBPlusTreeMap}
+ * против прежней связки {@link BPlusTree} и {@code HashMap<Integer, Long>} со значениями.
+ * Занятая каждым вариантом память в байтах на ключ - счетчики bytesPerKey бенчмарков
+ * {@link #mapFootprint} и {@link #treeAndHashMapFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class IntLongBPlusTreeMapBenchmark {
+    static final int PROBES = 1024;
+
+    @Param({"7", "63"})
+    public int maxKeys;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] keys;
+    private int[] probes;
+    private IntLongBPlusTreeMap map;
+    private BPlusTree tree;
+    private Map<Integer, Long> values;
+
+    /**
+     * Память, занятая построенным за вызов индексом, в байтах на ключ.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerKey;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerKey = 0.0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+        }
+        // Половина проб - ключи индекса, половина - скорее всего отсутствующие.
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? keys[random.nextInt(size)] : random.nextInt();
+        }
+
+        map = buildMap(keys, maxKeys);
+        tree = new BPlusTree(maxKeys);
+        values = new HashMap<>();
+        buildTreeAndHashMap(keys, tree, values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void mapGet(Blackhole blackhole) {
+        for (int key : probes) {
+            blackhole.consume(map.getOrDefault(key, -1L));
+        }
+    }
+
+    /**
+     * Прежний способ: проверка ключа в дереве и отдельный поиск значения в HashMap.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void treeAndHashMapGet(Blackhole blackhole) {
+        for (int key : probes) {
+            blackhole.consume(tree.contains(key) ? values.get(key) : -1L);
+        }
+    }
+
+    /**
+     * computeIfAbsent по пробам: отсутствующие ключи добавляются при первом проходе,
+     * дальше - поиск существующих.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void mapComputeIfAbsent(Blackhole blackhole) {
+        for (int key : probes) {
+            blackhole.consume(map.computeIfAbsent(key, k -> 0L));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntLongBPlusTreeMap mapFootprint(Footprint footprint) {
+        long before = usedMemory();
+        IntLongBPlusTreeMap built = buildMap(keys, maxKeys);
+        footprint.bytesPerKey = (double) (usedMemory() - before) / size;
+        return built;
+    }
+
+    /**
+     * Прежний способ: дерево ключей и отдельный HashMap со значениями.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Integer, Long> treeAndHashMapFootprint(Footprint footprint, Blackhole blackhole) {
+        long before = usedMemory();
+        BPlusTree builtTree = new BPlusTree(maxKeys);
+        Map<Integer, Long> builtValues = new HashMap<>();
+        buildTreeAndHashMap(keys, builtTree, builtValues);
+        footprint.bytesPerKey = (double) (usedMemory() - before) / size;
+        blackhole.consume(builtTree);
+        return builtValues;
+    }
+
+    private static IntLongBPlusTreeMap buildMap(int[] keys, int maxKeys) {
+        IntLongBPlusTreeMap built = new IntLongBPlusTreeMap(maxKeys);
+        for (int i = 0; i < keys.length; i++) {
+            built.put(keys[i], 16L * i);
+        }
+        return built;
+    }
+
+    private static void buildTreeAndHashMap(int[] keys, BPlusTree tree, Map<Integer, Long> values) {
+        for (int i = 0; i < keys.length; i++) {
+            tree.insert(keys[i]);
+            values.put(keys[i], 16L * i);
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
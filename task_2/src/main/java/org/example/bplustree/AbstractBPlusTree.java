@@ -0,0 +1,185 @@
+package org.example.bplustree;
+
+import org.example.bplustree.utils.InternalNode;
+import org.example.bplustree.utils.LeafNode;
+import org.example.bplustree.utils.Node;
+import org.example.bplustree.utils.TraceStates;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.example.bplustree.utils.TraceStates.*;
+
+/**
+ * Общая часть B+ деревьев с ключами int: спуск от корня с запоминанием пути,
+ * разбиение переполненных узлов с подъемом разделителей по пути и поиск внутри узлов.
+ * Вид листьев (только ключи или ключи со значениями) задает наследник через {@link #newLeaf()}.
+ */
+abstract class AbstractBPlusTree {
+    // До стольких ключей в узле линейный просмотр быстрее бинарного поиска.
+    private static final int LINEAR_SEARCH_MAX_KEYS = 64;
+
+    final int maxKeys;
+    Node root;
+
+    // Путь последнего спуска при вставке или удалении: родители листа и индексы детей в них,
+    // переиспользуются между операциями.
+    InternalNode[] pathNodes = new InternalNode[8];
+    int[] pathIndexes = new int[8];
+    int pathLength;
+    // Растет при каждом спуске: по нему видно, что путь перезаписан вложенной операцией.
+    int pathStamp;
+
+    AbstractBPlusTree(int maxKeys) {
+        if (maxKeys < 3) {
+            throw new IllegalArgumentException("maxKeys must be >= 3");
+        }
+        this.maxKeys = maxKeys;
+        this.root = newLeaf();
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * @return пустой лист того вида, который хранит дерево.
+     */
+    abstract LeafNode newLeaf();
+
+    /**
+     * Спуск от корня к листу с key с записью пути в pathNodes, pathIndexes и pathLength.
+     */
+    LeafNode descend(int key, List<TraceStates> trace) {
+        Node current = root;
+        int depth = 0;
+        while (!current.isLeaf()) {
+            InternalNode internal = (InternalNode) current;
+            int childIndex = childIndexForKey(internal.keys, internal.size, key);
+            record(trace, DESCEND_INTERNAL);
+            if (depth == pathNodes.length) {
+                pathNodes = Arrays.copyOf(pathNodes, depth * 2);
+                pathIndexes = Arrays.copyOf(pathIndexes, depth * 2);
+            }
+            pathNodes[depth] = internal;
+            pathIndexes[depth] = childIndex;
+            depth++;
+            current = internal.children[childIndex];
+        }
+        pathLength = depth;
+        pathStamp++;
+        return (LeafNode) current;
+    }
+
+    /**
+     * @param depth число родителей листа в {@link #pathNodes}.
+     */
+    void splitLeafAndPropagate(LeafNode leaf, int depth, List<TraceStates> trace) {
+        LeafNode rightLeaf = leaf.split();
+
+        record(trace, SPLIT_LEAF);
+
+        int separator = rightLeaf.keys[0];
+        insertIntoParent(leaf, separator, rightLeaf, depth, trace);
+    }
+
+    private void insertIntoParent(Node left, int separator, Node right, int depth, List<TraceStates> trace) {
+        if (depth == 0) {
+            InternalNode newRoot = new InternalNode(maxKeys);
+            newRoot.keys[0] = separator;
+            newRoot.size = 1;
+            newRoot.children[0] = left;
+            newRoot.children[1] = right;
+            root = newRoot;
+            record(trace, NEW_ROOT);
+            return;
+        }
+
+        InternalNode parent = pathNodes[depth - 1];
+        int childIndex = pathIndexes[depth - 1];
+
+        record(trace, INSERT_IN_PARENT);
+
+        parent.insertChild(childIndex, separator, right);
+
+        if (parent.size > maxKeys) {
+            record(trace, INTERNAL_OVERFLOW);
+            splitInternalAndPropagate(parent, depth - 1, trace);
+        }
+    }
+
+    private void splitInternalAndPropagate(InternalNode node, int depth, List<TraceStates> trace) {
+        int separator = node.keys[node.size / 2];
+        InternalNode rightNode = node.split();
+
+        record(trace, SPLIT_INTERNAL);
+
+        insertIntoParent(node, separator, rightNode, depth, trace);
+    }
+
+    LeafNode findLeaf(int key) {
+        Node current = root;
+        while (!current.isLeaf()) {
+            InternalNode internal = (InternalNode) current;
+            current = internal.children[childIndexForKey(internal.keys, internal.size, key)];
+        }
+        return (LeafNode) current;
+    }
+
+    LeafNode leftMostLeaf() {
+        Node current = root;
+        while (!current.isLeaf()) {
+            current = ((InternalNode) current).children[0];
+        }
+        return (LeafNode) current;
+    }
+
+    /**
+     * @return индекс первого ключа, большего key (индекс ребенка для спуска).
+     */
+    static int childIndexForKey(int[] keys, int size, int key) {
+        if (size <= LINEAR_SEARCH_MAX_KEYS) {
+            int index = 0;
+            while (index < size && key >= keys[index]) {
+                index++;
+            }
+            return index;
+        }
+        // Бинарный поиск без ветвлений: на каждом шаге сдвигается только base (условная пересылка).
+        int base = 0;
+        int length = size;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = keys[base + half - 1] <= key ? base + half : base;
+            length -= half;
+        }
+        return keys[base] <= key ? base + 1 : base;
+    }
+
+    /**
+     * @return индекс первого ключа, не меньшего key (позиция вставки).
+     */
+    static int findInsertPosition(int[] keys, int size, int key) {
+        if (size <= LINEAR_SEARCH_MAX_KEYS) {
+            int index = 0;
+            while (index < size && keys[index] < key) {
+                index++;
+            }
+            return index;
+        }
+        int base = 0;
+        int length = size;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = keys[base + half - 1] < key ? base + half : base;
+            length -= half;
+        }
+        return keys[base] < key ? base + 1 : base;
+    }
+
+    static void record(List<TraceStates> trace, TraceStates traceState) {
+        if (trace != null) {
+            trace.add(traceState);
+        }
+    }
+}
@@ -7,10 +7,16 @@ import org.example.bplustree.utils.TraceStates;
 import org.example.bplustree.utils.TraceStates.*;
 
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.example.bplustree.utils.TraceStates.*;
 
@@ -18,31 +24,26 @@ import static org.example.bplustree.utils.TraceStates.*;
  * B+ дерево для целочисленных ключей.
  *
  * Ограничение по заданию: максимум ключей в узле = 7.
- * Реализованы операции вставки, поиска и обхода листьев.
+ * Реализованы операции вставки, удаления (с заемом ключа у соседнего узла, слиянием
+ * узлов и сжатием корня), поиска, обхода листьев (целиком и по диапазону)
+ * и загрузки из отсортированного массива.
+ *
+ * Ключи узлов хранятся в массивах int фиксированной емкости, дети внутренних
+ * узлов - в массивах Node, так что вставка и поиск не упаковывают ключи.
  *
  * Для модульного тестирования предусмотрена трассировка
- * прохождения характерных точек алгоритма вставки.
+ * прохождения характерных точек алгоритмов вставки и удаления
+ * ({@link #insertWithTrace}, {@link #deleteWithTrace} и их варианты для набора ключей).
  */
-public final class BPlusTree {
+public final class BPlusTree extends AbstractBPlusTree {
     public static final int REQUIRED_MAX_KEYS = 7;
 
-    private final int maxKeys;
-    private Node root;
-
     public BPlusTree() {
         this(REQUIRED_MAX_KEYS);
     }
 
     public BPlusTree(int maxKeys) {
-        if (maxKeys < 3) {
-            throw new IllegalArgumentException("maxKeys must be >= 3");
-        }
-        this.maxKeys = maxKeys;
-        this.root = new LeafNode();
-    }
-
-    public int getMaxKeys() {
-        return maxKeys;
+        super(maxKeys);
     }
 
     public void insert(int key) {
@@ -63,175 +64,437 @@ public final class BPlusTree {
         return trace;
     }
 
+    /**
+     * @return true, если ключ был в дереве и удален.
+     */
+    public boolean delete(int key) {
+        return deleteInternal(key, null);
+    }
+
+    public List<TraceStates> deleteWithTrace(int key) {
+        List<TraceStates> trace = new ArrayList<>();
+        deleteInternal(key, trace);
+        return trace;
+    }
+
+    public List<TraceStates> deleteAllWithTrace(List<Integer> keys) {
+        List<TraceStates> trace = new ArrayList<>();
+        for (int key : keys) {
+            deleteInternal(key, trace);
+        }
+        return trace;
+    }
+
     public boolean contains(int key) {
         LeafNode leaf = findLeaf(key);
-        int pos = findInsertPosition(leaf.keys, key);
-        return pos < leaf.keys.size() && leaf.keys.get(pos) == key;
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        return pos < leaf.size && leaf.keys[pos] == key;
     }
 
     public List<Integer> keysInOrder() {
         List<Integer> result = new ArrayList<>();
         LeafNode current = leftMostLeaf();
         while (current != null) {
-            result.addAll(current.keys);
+            for (int i = 0; i < current.size; i++) {
+                result.add(current.keys[i]);
+            }
             current = current.next;
         }
         return result;
     }
 
-    private void insertInternal(int key, List<TraceStates> trace) {
-        record(trace, START_INSERT);
+    /**
+     * Курсор по ключам из [fromInclusive, toExclusive) в порядке возрастания: один спуск
+     * до листа с fromInclusive, дальше - по цепочке листов до первого ключа вне диапазона.
+     * Листы за концом диапазона не просматриваются, ключи не упаковываются.
+     * Дерево не должно изменяться, пока курсор используется.
+     */
+    public PrimitiveIterator.OfInt rangeScan(int fromInclusive, int toExclusive) {
+        if (fromInclusive >= toExclusive) {
+            return new RangeCursor(null, 0, toExclusive);
+        }
+        LeafNode leaf = findLeaf(fromInclusive);
+        return new RangeCursor(leaf, findInsertPosition(leaf.keys, leaf.size, fromInclusive), toExclusive);
+    }
 
-        Deque<InternalNode> parents = new ArrayDeque<>();
-        Deque<Integer> parentChildIndexes = new ArrayDeque<>();
+    /**
+     * Ленивый поток ключей из [fromInclusive, toExclusive), см. {@link #rangeScan}.
+     */
+    public IntStream rangeStream(int fromInclusive, int toExclusive) {
+        Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(
+            rangeScan(fromInclusive, toExclusive),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL
+        );
+        return StreamSupport.intStream(spliterator, false);
+    }
 
-        Node current = (Node) root;
-        if (current.isLeaf()) {
-            record(trace, ROOT_IS_LEAF);
+    /**
+     * Заменяет содержимое дерева ключами из отсортированного массива за один проход:
+     * листья заполняются слева направо, внутренние уровни строятся снизу вверх.
+     *
+     * Каждый узел заполняется на долю fillFactor от максимума, но не меньше, чем узлы
+     * после разбиения при вставке (около половины); последний узел уровня при нехватке
+     * ключей сливается с соседом или делит с ним ключи поровну. Повторы ключей пропускаются.
+     *
+     * @param sortedKeys ключи в неубывающем порядке.
+     * @param fillFactor доля заполнения узлов, (0, 1].
+     */
+    public void bulkLoad(int[] sortedKeys, double fillFactor) {
+        if (!(fillFactor > 0.0 && fillFactor <= 1.0)) {
+            throw new IllegalArgumentException("fillFactor must be in (0, 1]");
+        }
+        int[] keys = distinctSorted(sortedKeys);
+        if (keys.length == 0) {
+            root = new LeafNode(maxKeys);
+            return;
+        }
+
+        int[] leafSizes = chunkSizes(
+            keys.length, (int) Math.round(maxKeys * fillFactor), (maxKeys + 1) / 2, maxKeys
+        );
+        Node[] level = new Node[leafSizes.length];
+        int[] lowKeys = new int[leafSizes.length];
+        LeafNode previous = null;
+        int from = 0;
+        for (int i = 0; i < leafSizes.length; i++) {
+            LeafNode leaf = new LeafNode(maxKeys);
+            System.arraycopy(keys, from, leaf.keys, 0, leafSizes[i]);
+            leaf.size = leafSizes[i];
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+            lowKeys[i] = keys[from];
+            from += leafSizes[i];
+        }
+
+        // Разделитель перед ребенком - наименьший ключ его поддерева, как и при разбиении листа.
+        while (level.length > 1) {
+            int[] childCounts = chunkSizes(
+                level.length, (int) Math.round((maxKeys + 1) * fillFactor), maxKeys / 2 + 1, maxKeys + 1
+            );
+            Node[] parents = new Node[childCounts.length];
+            int[] parentLowKeys = new int[childCounts.length];
+            int child = 0;
+            for (int i = 0; i < childCounts.length; i++) {
+                InternalNode node = new InternalNode(maxKeys);
+                System.arraycopy(level, child, node.children, 0, childCounts[i]);
+                System.arraycopy(lowKeys, child + 1, node.keys, 0, childCounts[i] - 1);
+                node.size = childCounts[i] - 1;
+                parents[i] = node;
+                parentLowKeys[i] = lowKeys[child];
+                child += childCounts[i];
+            }
+            level = parents;
+            lowKeys = parentLowKeys;
         }
+        root = level[0];
+    }
 
-        while (!current.isLeaf()) {
-            InternalNode internal = (InternalNode) current;
-            int childIndex = childIndexForKey(internal.keys, key);
-            record(trace, DESCEND_INTERNAL);
-            parents.push(internal);
-            parentChildIndexes.push(childIndex);
-            current = internal.children.get(childIndex);
+    @Override
+    LeafNode newLeaf() {
+        return new LeafNode(maxKeys);
+    }
+
+    private void insertInternal(int key, List<TraceStates> trace) {
+        record(trace, START_INSERT);
+
+        if (root.isLeaf()) {
+            record(trace, ROOT_IS_LEAF);
         }
 
-        LeafNode leaf = (LeafNode) current;
+        LeafNode leaf = descend(key, trace);
+        int depth = pathLength;
         record(trace, LEAF_FOUND);
 
-        int insertPos = findInsertPosition(leaf.keys, key);
-        if (insertPos < leaf.keys.size() && leaf.keys.get(insertPos) == key) {
+        int insertPos = findInsertPosition(leaf.keys, leaf.size, key);
+        if (insertPos < leaf.size && leaf.keys[insertPos] == key) {
             record(trace, DUPLICATE_KEY);
             record(trace, END_INSERT);
             return;
         }
 
-        leaf.keys.add(insertPos, key);
+        leaf.insertKey(insertPos, key);
         record(trace, LEAF_INSERT);
 
-        if (leaf.keys.size() > maxKeys) {
+        if (leaf.size > maxKeys) {
             record(trace, LEAF_OVERFLOW);
-            splitLeafAndPropagate(leaf, parents, parentChildIndexes, trace);
+            splitLeafAndPropagate(leaf, depth, trace);
         }
 
         record(trace, END_INSERT);
     }
 
-    private void splitLeafAndPropagate(
-        LeafNode leaf,
-        Deque<InternalNode> parents,
-        Deque<Integer> parentChildIndexes,
-        List<TraceStates> trace
-    ) {
-        int splitIndex = leaf.keys.size() / 2;
-
-        LeafNode rightLeaf = new LeafNode();
-        rightLeaf.keys.addAll(leaf.keys.subList(splitIndex, leaf.keys.size()));
-        leaf.keys.subList(splitIndex, leaf.keys.size()).clear();
-
-        rightLeaf.next = leaf.next;
-        leaf.next = rightLeaf;
-
-        record(trace, SPLIT_LEAF);
-
-        int separator = rightLeaf.keys.get(0);
-        insertIntoParent(leaf, separator, rightLeaf, parents, parentChildIndexes, trace);
-    }
-
-    private void insertIntoParent(
-        Node left,
-        int separator,
-        Node right,
-        Deque<InternalNode> parents,
-        Deque<Integer> parentChildIndexes,
-        List<TraceStates> trace
-    ) {
-        if (parents.isEmpty()) {
-            InternalNode newRoot = new InternalNode();
-            newRoot.keys.add(separator);
-            newRoot.children.add(left);
-            newRoot.children.add(right);
-            root = newRoot;
-            record(trace, NEW_ROOT);
-            return;
+    /**
+     * Удаление с восстановлением заполнения: лист (внутренний узел) с числом ключей меньше
+     * минимального берет ключ у соседа, у которого есть лишний, иначе сливается с соседом;
+     * разделитель слитого узла удаляется из родителя, и проверка повторяется уровнем выше.
+     * Корень без ключей заменяется единственным ребенком.
+     */
+    private boolean deleteInternal(int key, List<TraceStates> trace) {
+        record(trace, START_DELETE);
+
+        if (root.isLeaf()) {
+            record(trace, ROOT_IS_LEAF);
         }
 
-        InternalNode parent = parents.pop();
-        int childIndex = parentChildIndexes.pop();
+        LeafNode leaf = descend(key, trace);
+        int depth = pathLength;
+        record(trace, LEAF_FOUND);
 
-        record(trace, INSERT_IN_PARENT);
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        if (pos == leaf.size || leaf.keys[pos] != key) {
+            record(trace, KEY_NOT_FOUND);
+            record(trace, END_DELETE);
+            return false;
+        }
 
-        parent.keys.add(childIndex, separator);
-        parent.children.add(childIndex + 1, right);
+        leaf.removeKey(pos);
+        record(trace, LEAF_DELETE);
 
-        if (parent.keys.size() > maxKeys) {
-            record(trace, INTERNAL_OVERFLOW);
-            splitInternalAndPropagate(parent, parents, parentChildIndexes, trace);
+        if (depth > 0 && leaf.size < minLeafKeys()) {
+            record(trace, LEAF_UNDERFLOW);
+            rebalanceLeaf(leaf, depth, trace);
         }
-    }
 
-    private void splitInternalAndPropagate(
-        InternalNode node,
-        Deque<InternalNode> parents,
-        Deque<Integer> parentChildIndexes,
-        List<TraceStates> trace
-    ) {
-        int middleIndex = node.keys.size() / 2;
-        int separator = node.keys.get(middleIndex);
+        record(trace, END_DELETE);
+        return true;
+    }
 
-        InternalNode rightNode = new InternalNode();
-        rightNode.keys.addAll(node.keys.subList(middleIndex + 1, node.keys.size()));
-        rightNode.children.addAll(node.children.subList(middleIndex + 1, node.children.size()));
+    private void rebalanceLeaf(LeafNode leaf, int depth, List<TraceStates> trace) {
+        InternalNode parent = pathNodes[depth - 1];
+        int index = pathIndexes[depth - 1];
+        LeafNode left = index > 0 ? (LeafNode) parent.children[index - 1] : null;
+        LeafNode right = index < parent.size ? (LeafNode) parent.children[index + 1] : null;
+
+        if (left != null && left.size > minLeafKeys()) {
+            leaf.insertKey(0, left.keys[left.size - 1]);
+            left.size--;
+            parent.keys[index - 1] = leaf.keys[0];
+            record(trace, BORROW_LEAF);
+            return;
+        }
+        if (right != null && right.size > minLeafKeys()) {
+            leaf.keys[leaf.size++] = right.keys[0];
+            right.removeKey(0);
+            parent.keys[index] = right.keys[0];
+            record(trace, BORROW_LEAF);
+            return;
+        }
 
-        node.keys.subList(middleIndex, node.keys.size()).clear();
-        node.children.subList(middleIndex + 1, node.children.size()).clear();
+        // Соседи заполнены минимально: правый из пары сливается в левый.
+        if (left != null) {
+            mergeLeaves(left, leaf);
+            parent.removeChild(index - 1);
+        } else {
+            mergeLeaves(leaf, right);
+            parent.removeChild(index);
+        }
+        record(trace, MERGE_LEAF);
 
-        record(trace, SPLIT_INTERNAL);
+        afterMerge(parent, depth - 1, trace);
+    }
 
-        insertIntoParent(node, separator, rightNode, parents, parentChildIndexes, trace);
+    private static void mergeLeaves(LeafNode left, LeafNode right) {
+        System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+        left.size += right.size;
+        left.next = right.next;
     }
 
-    private LeafNode findLeaf(int key) {
-        Node current = root;
-        while (!current.isLeaf()) {
-            InternalNode internal = (InternalNode) current;
-            current = internal.children.get(childIndexForKey(internal.keys, key));
+    /**
+     * @param depth глубина узла node; его родитель - pathNodes[depth - 1].
+     */
+    private void rebalanceInternal(InternalNode node, int depth, List<TraceStates> trace) {
+        InternalNode parent = pathNodes[depth - 1];
+        int index = pathIndexes[depth - 1];
+        InternalNode left = index > 0 ? (InternalNode) parent.children[index - 1] : null;
+        InternalNode right = index < parent.size ? (InternalNode) parent.children[index + 1] : null;
+
+        // Заем у соседа - поворот через разделитель родителя.
+        if (left != null && left.size > minInternalKeys()) {
+            System.arraycopy(node.children, 0, node.children, 1, node.size + 1);
+            node.children[0] = left.children[left.size];
+            left.children[left.size] = null;
+            node.insertKey(0, parent.keys[index - 1]);
+            parent.keys[index - 1] = left.keys[left.size - 1];
+            left.size--;
+            record(trace, BORROW_INTERNAL);
+            return;
+        }
+        if (right != null && right.size > minInternalKeys()) {
+            node.keys[node.size] = parent.keys[index];
+            node.children[node.size + 1] = right.children[0];
+            node.size++;
+            parent.keys[index] = right.keys[0];
+            System.arraycopy(right.children, 1, right.children, 0, right.size);
+            right.children[right.size] = null;
+            right.removeKey(0);
+            record(trace, BORROW_INTERNAL);
+            return;
         }
-        return (LeafNode) current;
-    }
 
-    private LeafNode leftMostLeaf() {
-        Node current = root;
-        while (!current.isLeaf()) {
-            current = ((InternalNode) current).children.get(0);
+        if (left != null) {
+            mergeInternal(left, parent.keys[index - 1], node);
+            parent.removeChild(index - 1);
+        } else {
+            mergeInternal(node, parent.keys[index], right);
+            parent.removeChild(index);
         }
-        return (LeafNode) current;
+        record(trace, MERGE_INTERNAL);
+
+        afterMerge(parent, depth - 1, trace);
+    }
+
+    private static void mergeInternal(InternalNode left, int separator, InternalNode right) {
+        left.keys[left.size] = separator;
+        System.arraycopy(right.keys, 0, left.keys, left.size + 1, right.size);
+        System.arraycopy(right.children, 0, left.children, left.size + 1, right.size + 1);
+        left.size += right.size + 1;
     }
 
-    private int childIndexForKey(List<Integer> keys, int key) {
-        int index = 0;
-        while (index < keys.size() && key >= keys.get(index)) {
-            index++;
+    /**
+     * Проверяет родителя после слияния его детей.
+     */
+    private void afterMerge(InternalNode parent, int depth, List<TraceStates> trace) {
+        if (depth == 0) {
+            if (parent.size == 0) {
+                root = parent.children[0];
+                record(trace, COLLAPSE_ROOT);
+            }
+            return;
+        }
+        if (parent.size < minInternalKeys()) {
+            record(trace, INTERNAL_UNDERFLOW);
+            rebalanceInternal(parent, depth, trace);
         }
-        return index;
     }
 
-    private int findInsertPosition(List<Integer> keys, int key) {
-        int index = 0;
-        while (index < keys.size() && keys.get(index) < key) {
-            index++;
+    /**
+     * Столько ключей остается в меньшем листе после разбиения.
+     */
+    private int minLeafKeys() {
+        return (maxKeys + 1) / 2;
+    }
+
+    /**
+     * Столько ключей остается в меньшем внутреннем узле после разбиения.
+     */
+    private int minInternalKeys() {
+        return maxKeys / 2;
+    }
+
+    /**
+     * @return ключи без повторов; исходный массив, если повторов нет.
+     */
+    private static int[] distinctSorted(int[] sortedKeys) {
+        int distinct = sortedKeys.length == 0 ? 0 : 1;
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i] < sortedKeys[i - 1]) {
+                throw new IllegalArgumentException("keys must be sorted");
+            }
+            if (sortedKeys[i] != sortedKeys[i - 1]) {
+                distinct++;
+            }
+        }
+        if (distinct == sortedKeys.length) {
+            return sortedKeys;
+        }
+        int[] keys = new int[distinct];
+        keys[0] = sortedKeys[0];
+        for (int i = 1, j = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i] != sortedKeys[i - 1]) {
+                keys[j++] = sortedKeys[i];
+            }
         }
-        return index;
+        return keys;
     }
 
-    private void record(List<TraceStates> trace, TraceStates traceState) {
-        if (trace != null) {
-            trace.add(traceState);
+    /**
+     * Делит count элементов на узлы по target (в пределах [min, max]). Если последнему узлу
+     * не хватает до min, он объединяется с предыдущим, а при переполнении объединенного
+     * узла элементы делятся между двумя узлами поровну: оба получают не меньше min,
+     * так как min не больше (max + 1) / 2.
+     */
+    private static int[] chunkSizes(int count, int target, int min, int max) {
+        int size = Math.max(min, Math.min(max, target));
+        int chunks = (count + size - 1) / size;
+        int[] sizes = new int[chunks];
+        Arrays.fill(sizes, size);
+        int last = count - (chunks - 1) * size;
+        sizes[chunks - 1] = last;
+        if (chunks > 1 && last < min) {
+            int combined = size + last;
+            if (combined <= max) {
+                sizes = Arrays.copyOf(sizes, chunks - 1);
+                sizes[chunks - 2] = combined;
+            } else {
+                sizes[chunks - 2] = combined - combined / 2;
+                sizes[chunks - 1] = combined / 2;
+            }
         }
+        return sizes;
     }
 
+    /**
+     * Курсор держит текущий лист и границу end: ключи листа с индексами до end лежат в диапазоне.
+     * Граница считается один раз при переходе к листу; лист, где она меньше размера, последний.
+     */
+    private static final class RangeCursor implements PrimitiveIterator.OfInt {
+        private final int toExclusive;
+        private LeafNode leaf;
+        private int[] keys;
+        private int index;
+        private int end;
+        private boolean lastLeaf;
+
+        RangeCursor(LeafNode leaf, int index, int toExclusive) {
+            this.toExclusive = toExclusive;
+            enter(leaf, index);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index >= end) {
+                if (leaf == null || lastLeaf) {
+                    return false;
+                }
+                enter(leaf.next, 0);
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return keys[index++];
+        }
 
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (hasNext()) {
+                for (int i = index; i < end; i++) {
+                    action.accept(keys[i]);
+                }
+                index = end;
+            }
+        }
+
+        private void enter(LeafNode next, int start) {
+            leaf = next;
+            index = start;
+            if (next == null) {
+                end = 0;
+                return;
+            }
+            keys = next.keys;
+            end = next.size;
+            lastLeaf = end > 0 && keys[end - 1] >= toExclusive;
+            if (lastLeaf) {
+                end = findInsertPosition(keys, end, toExclusive);
+            }
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package org.example.bplustree;
+
+import org.example.bplustree.utils.LeafNode;
+import org.example.bplustree.utils.LongLeafNode;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.IntToLongFunction;
+
+/**
+ * B+ дерево-отображение ключей int в значения long (например, смещения строк для индекса).
+ *
+ * Значения хранятся в листах ({@link LongLeafNode}) в массиве long параллельно ключам,
+ * так что ни ключи, ни значения не упаковываются, а каждая операция обходится одним спуском.
+ * Для отсутствующих ключей get и put возвращают 0, как примитивные отображения;
+ * отличить отсутствие ключа от значения 0 позволяют containsKey и getOrDefault.
+ */
+public final class IntLongBPlusTreeMap extends AbstractBPlusTree {
+    private int size;
+    private int modifications;
+
+    public IntLongBPlusTreeMap() {
+        this(BPlusTree.REQUIRED_MAX_KEYS);
+    }
+
+    public IntLongBPlusTreeMap(int maxKeys) {
+        super(maxKeys);
+    }
+
+    @Override
+    LeafNode newLeaf() {
+        return new LongLeafNode(maxKeys);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(int key) {
+        LeafNode leaf = findLeaf(key);
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        return pos < leaf.size && leaf.keys[pos] == key;
+    }
+
+    /**
+     * @return значение ключа или 0, если ключа нет.
+     */
+    public long get(int key) {
+        return getOrDefault(key, 0L);
+    }
+
+    public long getOrDefault(int key, long defaultValue) {
+        LongLeafNode leaf = (LongLeafNode) findLeaf(key);
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        return pos < leaf.size && leaf.keys[pos] == key ? leaf.values[pos] : defaultValue;
+    }
+
+    /**
+     * @return прежнее значение ключа или 0, если ключа не было.
+     */
+    public long put(int key, long value) {
+        LongLeafNode leaf = (LongLeafNode) descend(key, null);
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        modifications++;
+        if (pos < leaf.size && leaf.keys[pos] == key) {
+            long previous = leaf.values[pos];
+            leaf.values[pos] = value;
+            return previous;
+        }
+        insertAt(leaf, pos, key, value);
+        return 0L;
+    }
+
+    /**
+     * Значение ключа; если ключа нет, оно вычисляется функцией mapping и добавляется
+     * в найденный тем же спуском лист. Функция не должна изменять это отображение,
+     * иначе бросается {@link ConcurrentModificationException}.
+     */
+    public long computeIfAbsent(int key, IntToLongFunction mapping) {
+        Objects.requireNonNull(mapping, "mapping");
+        LongLeafNode leaf = (LongLeafNode) descend(key, null);
+        int pos = findInsertPosition(leaf.keys, leaf.size, key);
+        if (pos < leaf.size && leaf.keys[pos] == key) {
+            return leaf.values[pos];
+        }
+
+        // Путь спуска нужен для разбиения после вставки: изменение внутри mapping недопустимо,
+        // а вложенный спуск без изменений (например, computeIfAbsent существующего ключа)
+        // только перезаписывает путь, и тогда спуск повторяется.
+        int expectedModifications = modifications;
+        int expectedStamp = pathStamp;
+        long value = mapping.applyAsLong(key);
+        if (modifications != expectedModifications) {
+            throw new ConcurrentModificationException("mapping function modified the map");
+        }
+        if (pathStamp != expectedStamp) {
+            leaf = (LongLeafNode) descend(key, null);
+            pos = findInsertPosition(leaf.keys, leaf.size, key);
+        }
+        modifications++;
+        insertAt(leaf, pos, key, value);
+        return value;
+    }
+
+    private void insertAt(LongLeafNode leaf, int pos, int key, long value) {
+        leaf.insert(pos, key, value);
+        size++;
+        if (leaf.size > maxKeys) {
+            splitLeafAndPropagate(leaf, pathLength, null);
+        }
+    }
+}
@@ -1,13 +1,54 @@
 package org.example.bplustree.utils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class InternalNode extends Node {
-    public final List<Node> children = new ArrayList<>();
+    /** Дети узла; занято size + 1 ячеек. */
+    public final Node[] children;
+
+    public InternalNode(int maxKeys) {
+        super(maxKeys);
+        this.children = new Node[maxKeys + 2];
+    }
 
     @Override
     public boolean isLeaf() {
         return false;
     }
+
+    /**
+     * Вставляет разделитель в позицию index и правого ребенка за ним (в позицию index + 1).
+     */
+    public void insertChild(int index, int separator, Node right) {
+        System.arraycopy(children, index + 1, children, index + 2, size - index);
+        children[index + 1] = right;
+        insertKey(index, separator);
+    }
+
+    /**
+     * Удаляет разделитель из позиции index и ребенка за ним (из позиции index + 1).
+     */
+    public void removeChild(int index) {
+        System.arraycopy(children, index + 2, children, index + 1, size - index - 1);
+        children[size] = null;
+        removeKey(index);
+    }
+
+    /**
+     * Переносит ключи после среднего и их детей в новый узел. Средний ключ - разделитель
+     * для родителя - из узла уходит, его нужно прочитать до вызова: keys[size / 2].
+     *
+     * @return новый правый узел.
+     */
+    public InternalNode split() {
+        int middleIndex = size / 2;
+        InternalNode right = new InternalNode(keys.length - 1);
+        right.size = size - middleIndex - 1;
+        System.arraycopy(keys, middleIndex + 1, right.keys, 0, right.size);
+        System.arraycopy(children, middleIndex + 1, right.children, 0, right.size + 1);
+
+        Arrays.fill(children, middleIndex + 1, size + 1, null);
+        size = middleIndex;
+        return right;
+    }
 }
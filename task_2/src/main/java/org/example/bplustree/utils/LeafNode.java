@@ -5,8 +5,33 @@ import org.example.bplustree.BPlusTree;
 public class LeafNode extends Node {
     public LeafNode next;
 
+    public LeafNode(int maxKeys) {
+        super(maxKeys);
+    }
+
     @Override
     public boolean isLeaf() {
         return true;
     }
+
+    /**
+     * Переносит старшую половину ключей в новый лист и ставит его в цепочку сразу за этим.
+     *
+     * @return новый правый лист.
+     */
+    public LeafNode split() {
+        LeafNode right = new LeafNode(keys.length - 1);
+        moveUpperHalf(right);
+        return right;
+    }
+
+    protected final void moveUpperHalf(LeafNode right) {
+        int splitIndex = size / 2;
+        right.size = size - splitIndex;
+        System.arraycopy(keys, splitIndex, right.keys, 0, right.size);
+        size = splitIndex;
+
+        right.next = next;
+        next = right;
+    }
 }
@@ -0,0 +1,30 @@
+package org.example.bplustree.utils;
+
+/**
+ * Лист со значениями long, хранящимися параллельно ключам: values[i] относится к keys[i].
+ */
+public class LongLeafNode extends LeafNode {
+    public final long[] values;
+
+    public LongLeafNode(int maxKeys) {
+        super(maxKeys);
+        this.values = new long[maxKeys + 1];
+    }
+
+    /**
+     * Вставляет пару в позицию index со сдвигом следующих пар вправо.
+     */
+    public void insert(int index, int key, long value) {
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        insertKey(index, key);
+    }
+
+    @Override
+    public LongLeafNode split() {
+        LongLeafNode right = new LongLeafNode(keys.length - 1);
+        moveUpperHalf(right);
+        System.arraycopy(values, size, right.values, 0, right.size);
+        return right;
+    }
+}
@@ -1,15 +1,40 @@
 package org.example.bplustree.utils;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Узел с ключами в массиве фиксированной емкости: maxKeys + 1 ячейка,
+ * лишняя - под временное переполнение перед разбиением.
+ */
 public abstract class Node {
-    public final List<Integer> keys = new ArrayList<>();
+    public final int[] keys;
+    public int size;
+
+    protected Node(int maxKeys) {
+        this.keys = new int[maxKeys + 1];
+    }
 
     public abstract boolean isLeaf();
 
+    /**
+     * Вставляет ключ в позицию index со сдвигом следующих ключей вправо.
+     */
+    public void insertKey(int index, int key) {
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        keys[index] = key;
+        size++;
+    }
+
+    /**
+     * Удаляет ключ из позиции index со сдвигом следующих ключей влево.
+     */
+    public void removeKey(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        size--;
+    }
+
     List<Integer> viewKeys() {
-        return Collections.unmodifiableList(keys);
+        return Arrays.stream(keys, 0, size).boxed().toList();
     }
 }
@@ -14,4 +14,15 @@ public enum TraceStates {
     NEW_ROOT,
     END_INSERT,
     ROOT_IS_LEAF,
+    START_DELETE,
+    KEY_NOT_FOUND,
+    LEAF_DELETE,
+    LEAF_UNDERFLOW,
+    BORROW_LEAF,
+    MERGE_LEAF,
+    INTERNAL_UNDERFLOW,
+    BORROW_INTERNAL,
+    MERGE_INTERNAL,
+    COLLAPSE_ROOT,
+    END_DELETE,
 }
@@ -205,4 +205,376 @@ class BPlusTreeTest {
             assertTrue(tree.contains(k));
         }
     }
+
+    @Test
+    void randomInsertionsMatchTreeSetForSeveralFanouts() {
+        for (int maxKeys : new int[]{3, 4, 8, 64, 256, 1024}) {
+            BPlusTree tree = new BPlusTree(maxKeys);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(maxKeys);
+
+            // При maxKeys = 3 высота дерева больше начальной длины пути спуска.
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt(100_000) - 50_000;
+                tree.insert(key);
+                expected.add(key);
+            }
+
+            assertEquals(new ArrayList<>(expected), tree.keysInOrder());
+            for (int key = -50_001; key <= 50_001; key += 7) {
+                assertEquals(expected.contains(key), tree.contains(key));
+            }
+        }
+    }
+
+    @Test
+    void lookupsAroundEveryKeyForLargeFanouts() {
+        for (int maxKeys : new int[]{65, 256, 1023}) {
+            BPlusTree tree = new BPlusTree(maxKeys);
+            for (int key = 0; key < 20_000; key += 3) {
+                tree.insert(key);
+            }
+            tree.insert(Integer.MIN_VALUE);
+            tree.insert(Integer.MAX_VALUE);
+
+            // В больших узлах поиск бинарный: проверяем ключи, соседей и края диапазона int.
+            for (int key = 0; key < 20_000; key += 3) {
+                assertTrue(tree.contains(key));
+                assertFalse(tree.contains(key + 1));
+                assertFalse(tree.contains(key + 2));
+            }
+            assertTrue(tree.contains(Integer.MIN_VALUE));
+            assertTrue(tree.contains(Integer.MAX_VALUE));
+            assertFalse(tree.contains(-1));
+            assertFalse(tree.contains(Integer.MAX_VALUE - 1));
+            assertEquals(20_000 / 3 + 3, tree.keysInOrder().size());
+        }
+    }
+
+    @Test
+    void bulkLoadMatchesRepeatedInsertion() {
+        for (int maxKeys : new int[]{3, 4, 7, 64}) {
+            for (double fillFactor : new double[]{0.1, 0.5, 0.7, 1.0}) {
+                for (int count : new int[]{0, 1, 2, 5, 8, 9, 30, 100, 1_000, 20_000}) {
+                    int[] keys = IntStream.range(0, count).map(i -> 3 * i - count).toArray();
+                    BPlusTree loaded = new BPlusTree(maxKeys);
+                    loaded.bulkLoad(keys, fillFactor);
+
+                    BPlusTree inserted = new BPlusTree(maxKeys);
+                    for (int key : keys) {
+                        inserted.insert(key);
+                    }
+
+                    assertEquals(inserted.keysInOrder(), loaded.keysInOrder());
+                    for (int key = -count - 2; key <= 2 * count + 2; key++) {
+                        assertEquals(inserted.contains(key), loaded.contains(key));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void insertionsAfterBulkLoadKeepTreeConsistent() {
+        for (double fillFactor : new double[]{0.5, 1.0}) {
+            BPlusTree tree = new BPlusTree();
+            TreeSet<Integer> expected = new TreeSet<>();
+            int[] keys = IntStream.range(0, 5_000).map(i -> 2 * i).toArray();
+            tree.bulkLoad(keys, fillFactor);
+            Arrays.stream(keys).forEach(expected::add);
+
+            Random random = new Random(5);
+            for (int i = 0; i < 5_000; i++) {
+                int key = random.nextInt(12_000) - 1_000;
+                tree.insert(key);
+                expected.add(key);
+            }
+
+            assertEquals(new ArrayList<>(expected), tree.keysInOrder());
+            for (int key = -1_001; key <= 12_001; key++) {
+                assertEquals(expected.contains(key), tree.contains(key));
+            }
+        }
+    }
+
+    @Test
+    void bulkLoadReplacesContentAndSkipsDuplicates() {
+        BPlusTree tree = new BPlusTree();
+        tree.insert(100);
+
+        tree.bulkLoad(new int[]{1, 1, 2, 3, 3, 3, 7}, 1.0);
+
+        assertEquals(List.of(1, 2, 3, 7), tree.keysInOrder());
+        assertFalse(tree.contains(100));
+    }
+
+    @Test
+    void bulkLoadRejectsInvalidArguments() {
+        BPlusTree tree = new BPlusTree();
+
+        assertThrows(IllegalArgumentException.class, () -> tree.bulkLoad(new int[]{1, 3, 2}, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.bulkLoad(new int[]{1, 2}, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.bulkLoad(new int[]{1, 2}, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> tree.bulkLoad(new int[]{1, 2}, Double.NaN));
+    }
+
+    @Test
+    void rangeScanMatchesTreeSetSubSet() {
+        for (int maxKeys : new int[]{3, 7, 64}) {
+            BPlusTree tree = new BPlusTree(maxKeys);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(maxKeys);
+            for (int i = 0; i < 3_000; i++) {
+                int key = random.nextInt(10_000);
+                tree.insert(key);
+                expected.add(key);
+            }
+
+            for (int i = 0; i < 300; i++) {
+                int from = random.nextInt(10_400) - 200;
+                int to = from + random.nextInt(i % 10 == 0 ? 10_000 : 100);
+                List<Integer> expectedRange = new ArrayList<>(expected.subSet(from, true, to, false));
+
+                List<Integer> scanned = new ArrayList<>();
+                PrimitiveIterator.OfInt cursor = tree.rangeScan(from, to);
+                while (cursor.hasNext()) {
+                    scanned.add(cursor.nextInt());
+                }
+                assertEquals(expectedRange, scanned);
+                assertEquals(expectedRange, tree.rangeStream(from, to).boxed().collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    void rangeScanHandlesEdgesAndEmptyRanges() {
+        BPlusTree tree = new BPlusTree();
+        assertFalse(tree.rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE).hasNext());
+
+        tree.bulkLoad(new int[]{Integer.MIN_VALUE, -5, 0, 5, Integer.MAX_VALUE}, 1.0);
+
+        assertArrayEquals(
+            new int[]{Integer.MIN_VALUE, -5, 0, 5},
+            tree.rangeStream(Integer.MIN_VALUE, Integer.MAX_VALUE).toArray()
+        );
+        assertArrayEquals(new int[]{0}, tree.rangeStream(0, 5).toArray());
+        assertEquals(0, tree.rangeStream(5, 5).count());
+        assertEquals(0, tree.rangeStream(6, 1).count());
+        assertEquals(0, tree.rangeStream(6, Integer.MAX_VALUE).count());
+
+        PrimitiveIterator.OfInt cursor = tree.rangeScan(1, 5);
+        assertFalse(cursor.hasNext());
+        assertThrows(NoSuchElementException.class, cursor::nextInt);
+    }
+
+    @Test
+    void rangeScanMixesNextAndForEachRemaining() {
+        BPlusTree tree = new BPlusTree();
+        tree.bulkLoad(IntStream.range(0, 1_000).toArray(), 0.6);
+
+        PrimitiveIterator.OfInt cursor = tree.rangeScan(100, 900);
+        assertEquals(100, cursor.nextInt());
+        assertEquals(101, cursor.nextInt());
+
+        List<Integer> rest = new ArrayList<>();
+        cursor.forEachRemaining((int key) -> rest.add(key));
+        assertEquals(IntStream.range(102, 900).boxed().collect(Collectors.toList()), rest);
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    void deleteWithoutUnderflowProducesReferenceTrace() {
+        BPlusTree tree = new BPlusTree();
+        tree.insertAllWithTrace(List.of(10, 20, 30));
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(20);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            ROOT_IS_LEAF,
+            LEAF_FOUND,
+            LEAF_DELETE,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        assertEquals(List.of(10, 30), tree.keysInOrder());
+    }
+
+    @Test
+    void deleteOfMissingKeyProducesReferenceTrace() {
+        BPlusTree tree = new BPlusTree();
+        tree.insert(10);
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(20);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            ROOT_IS_LEAF,
+            LEAF_FOUND,
+            KEY_NOT_FOUND,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        assertFalse(tree.delete(20));
+        assertTrue(tree.delete(10));
+        assertFalse(tree.contains(10));
+    }
+
+    @Test
+    void leafUnderflowBorrowsFromSibling() {
+        BPlusTree tree = new BPlusTree();
+        for (int key = 10; key <= 90; key += 10) {
+            tree.insert(key);
+        }
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(10);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            DESCEND_INTERNAL,
+            LEAF_FOUND,
+            LEAF_DELETE,
+            LEAF_UNDERFLOW,
+            BORROW_LEAF,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        assertEquals(List.of(20, 30, 40, 50, 60, 70, 80, 90), tree.keysInOrder());
+        assertTrue(tree.contains(50));
+    }
+
+    @Test
+    void leafMergeCollapsesRoot() {
+        BPlusTree tree = new BPlusTree();
+        for (int key = 10; key <= 80; key += 10) {
+            tree.insert(key);
+        }
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(10);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            DESCEND_INTERNAL,
+            LEAF_FOUND,
+            LEAF_DELETE,
+            LEAF_UNDERFLOW,
+            MERGE_LEAF,
+            COLLAPSE_ROOT,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        assertEquals(List.of(20, 30, 40, 50, 60, 70, 80), tree.keysInOrder());
+        assertEquals(
+            List.of(START_DELETE, ROOT_IS_LEAF, LEAF_FOUND, LEAF_DELETE, END_DELETE),
+            tree.deleteWithTrace(80)
+        );
+    }
+
+    @Test
+    void internalUnderflowBorrowsFromSibling() {
+        BPlusTree tree = new BPlusTree();
+        for (int key = 10; key <= 360; key += 10) {
+            tree.insert(key);
+        }
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(360);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            DESCEND_INTERNAL,
+            DESCEND_INTERNAL,
+            LEAF_FOUND,
+            LEAF_DELETE,
+            LEAF_UNDERFLOW,
+            MERGE_LEAF,
+            INTERNAL_UNDERFLOW,
+            BORROW_INTERNAL,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        List<Integer> expectedKeys = IntStream.rangeClosed(1, 35).map(i -> i * 10).boxed().collect(Collectors.toList());
+        assertEquals(expectedKeys, tree.keysInOrder());
+    }
+
+    @Test
+    void internalMergeCollapsesRoot() {
+        BPlusTree tree = new BPlusTree();
+        for (int key = 10; key <= 360; key += 10) {
+            tree.insert(key);
+        }
+        List<TraceStates> preparation = tree.deleteAllWithTrace(List.of(10, 20, 30, 40));
+        assertFalse(preparation.contains(INTERNAL_UNDERFLOW));
+
+        List<TraceStates> actualTrace = tree.deleteWithTrace(50);
+
+        List<TraceStates> expectedTrace = List.of(
+            START_DELETE,
+            DESCEND_INTERNAL,
+            DESCEND_INTERNAL,
+            LEAF_FOUND,
+            LEAF_DELETE,
+            LEAF_UNDERFLOW,
+            MERGE_LEAF,
+            INTERNAL_UNDERFLOW,
+            MERGE_INTERNAL,
+            COLLAPSE_ROOT,
+            END_DELETE
+        );
+
+        assertEquals(expectedTrace, actualTrace);
+        List<Integer> expectedKeys = IntStream.rangeClosed(6, 36).map(i -> i * 10).boxed().collect(Collectors.toList());
+        assertEquals(expectedKeys, tree.keysInOrder());
+    }
+
+    @Test
+    void randomInsertionsAndDeletionsMatchTreeSet() {
+        for (int maxKeys : new int[]{3, 4, 7, 64}) {
+            BPlusTree tree = new BPlusTree(maxKeys);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random(maxKeys);
+
+            for (int i = 0; i < 40_000; i++) {
+                int key = random.nextInt(5_000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), tree.delete(key));
+                } else {
+                    tree.insert(key);
+                    expected.add(key);
+                }
+            }
+            assertEquals(new ArrayList<>(expected), tree.keysInOrder());
+            List<Integer> expectedRange = List.copyOf(expected.subSet(1_000, 2_000));
+            assertEquals(expectedRange, tree.rangeStream(1_000, 2_000).boxed().toList());
+
+            for (int key : new ArrayList<>(expected)) {
+                assertTrue(tree.delete(key));
+            }
+            assertTrue(tree.keysInOrder().isEmpty());
+            assertFalse(tree.contains(0));
+
+            tree.insert(7);
+            assertEquals(List.of(7), tree.keysInOrder());
+        }
+    }
+
+    @Test
+    void deletionsAfterBulkLoadKeepTreeConsistent() {
+        BPlusTree tree = new BPlusTree();
+        tree.bulkLoad(IntStream.range(0, 2_000).toArray(), 1.0);
+
+        for (int key = 0; key < 2_000; key += 2) {
+            assertTrue(tree.delete(key));
+        }
+
+        List<Integer> expectedKeys = IntStream.range(0, 1_000).map(i -> 2 * i + 1).boxed().collect(Collectors.toList());
+        assertEquals(expectedKeys, tree.keysInOrder());
+        for (int key = 0; key < 2_000; key++) {
+            assertEquals(key % 2 == 1, tree.contains(key));
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package org.example.bplustree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntLongBPlusTreeMapTest {
+
+    @Test
+    void defaultConfigurationUsesRequiredMaxKeys() {
+        assertEquals(BPlusTree.REQUIRED_MAX_KEYS, new IntLongBPlusTreeMap().getMaxKeys());
+        assertThrows(IllegalArgumentException.class, () -> new IntLongBPlusTreeMap(2));
+    }
+
+    @Test
+    void putAndGetMatchHashMapForSeveralFanouts() {
+        for (int maxKeys : new int[]{3, 4, 7, 64, 256}) {
+            IntLongBPlusTreeMap map = new IntLongBPlusTreeMap(maxKeys);
+            Map<Integer, Long> expected = new HashMap<>();
+            Random random = new Random(maxKeys);
+
+            for (int i = 0; i < 30_000; i++) {
+                int key = random.nextInt(20_000) - 10_000;
+                long value = random.nextLong();
+                Long previous = expected.put(key, value);
+                assertEquals(previous == null ? 0L : previous, map.put(key, value));
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (int key = -10_001; key <= 10_001; key++) {
+                Long value = expected.get(key);
+                assertEquals(value != null, map.containsKey(key));
+                assertEquals(value == null ? -1L : value, map.getOrDefault(key, -1L));
+                assertEquals(value == null ? 0L : value, map.get(key));
+            }
+        }
+    }
+
+    @Test
+    void missingKeysReturnDefaults() {
+        IntLongBPlusTreeMap map = new IntLongBPlusTreeMap();
+        map.put(5, 0L);
+
+        assertEquals(0L, map.get(6));
+        assertEquals(42L, map.getOrDefault(6, 42L));
+        assertEquals(0L, map.getOrDefault(5, 42L));
+        assertTrue(map.containsKey(5));
+        assertFalse(map.containsKey(6));
+    }
+
+    @Test
+    void computeIfAbsentCallsMappingOnlyForMissingKeys() {
+        IntLongBPlusTreeMap map = new IntLongBPlusTreeMap();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int round = 0; round < 2; round++) {
+            for (int key = 0; key < 1_000; key++) {
+                long value = map.computeIfAbsent(key, k -> {
+                    calls.incrementAndGet();
+                    return 10L * k;
+                });
+                assertEquals(10L * key, value);
+            }
+        }
+
+        assertEquals(1_000, calls.get());
+        assertEquals(1_000, map.size());
+        for (int key = 0; key < 1_000; key++) {
+            assertEquals(10L * key, map.get(key));
+        }
+    }
+
+    @Test
+    void computeIfAbsentRejectsMappingThatModifiesMap() {
+        IntLongBPlusTreeMap map = new IntLongBPlusTreeMap();
+        map.put(1, 1L);
+
+        assertThrows(ConcurrentModificationException.class, () -> map.computeIfAbsent(2, k -> map.put(3, 3L)));
+        assertThrows(NullPointerException.class, () -> map.computeIfAbsent(4, null));
+        assertEquals(3L, map.computeIfAbsent(5, k -> map.get(1) + 2L));
+    }
+
+    @Test
+    void computeIfAbsentSurvivesNestedLookupOfExistingKey() {
+        IntLongBPlusTreeMap map = new IntLongBPlusTreeMap(3);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int key = 0; key < 200; key += 2) {
+            map.put(key, key);
+            expected.put(key, (long) key);
+        }
+
+        for (int key = 1; key < 200; key += 2) {
+            long value = map.computeIfAbsent(key, k -> map.computeIfAbsent(198, y -> -1L) + 1000L);
+            assertEquals(1198L, value);
+            expected.put(key, 1198L);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -1; key <= 200; key++) {
+            Long value = expected.get(key);
+            assertEquals(value != null, map.containsKey(key));
+            assertEquals(value == null ? -1L : value, map.getOrDefault(key, -1L));
+        }
+    }
+}